@@ -0,0 +1,583 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * Provides an implementation of the Set interface.
+ * A sorted array is used as the underlying data structure.
+ * Elements are kept in ascending natural order, so this set
+ * iterates in the same order as LinkedSet and the two can be
+ * used interchangeably. Searches use binary search and set
+ * operations with another ordered set use a linear merge.
+ *
+ * @author Brian Betz (betzbri@auburn.edu
+ * @version 2016-03-13
+ *
+ */
+public class ArraySortedSet<T extends Comparable<? super T>> implements OrderedSet<T> {
+
+   /** The default capacity of the underlying array. */
+   private static final int DEFAULT_CAPACITY = 8;
+
+   /** The elements of this set in ascending natural order. */
+   Object[] elements;
+
+   /** The number of elements in this set. */
+   int size;
+
+   /**
+    * Instantiates an empty ArraySortedSet.
+    */
+   public ArraySortedSet() {
+      this(DEFAULT_CAPACITY);
+   }
+
+   /**
+    * Instantiates an empty ArraySortedSet with room for capacity
+    * elements before the array must grow.
+    *
+    * @param  capacity  the initial capacity of the array
+    */
+   public ArraySortedSet(int capacity) {
+      elements = new Object[Math.max(capacity, 1)];
+      size = 0;
+   }
+
+
+   /**
+    * Return a string representation of this ArraySortedSet.
+    *
+    * @return a string representation of this ArraySortedSet
+    */
+   @Override
+   public String toString() {
+      if (isEmpty()) {
+         return "[]";
+      }
+      StringBuilder result = new StringBuilder();
+      result.append("[");
+      for (int i = 0; i < size; i++) {
+         result.append(elements[i]);
+         result.append(", ");
+      }
+      result.delete(result.length() - 2, result.length());
+      result.append("]");
+      return result.toString();
+   }
+
+
+   /**
+    * Returns the current size of this collection.
+    *
+    * @return  the number of elements in this collection.
+    */
+   public int size() {
+      return size;
+   }
+
+
+   /**
+    * Tests to see if this collection is empty.
+    *
+    * @return  true if this collection contains no elements, false otherwise.
+    */
+   public boolean isEmpty() {
+      return (size == 0);
+   }
+
+
+   /**
+    * Ensures the collection contains the specified element. Neither duplicate
+    * nor null values are allowed. Later elements are shifted one position
+    * to keep the array in ascending natural order.
+    *
+    * @param  element  The element whose presence is to be ensured.
+    * @return true if collection is changed, false otherwise.
+    */
+   public boolean add(T element) {
+      if (element == null) {
+         return false;
+      }
+
+      int i = search(element);
+      if (i >= 0) {
+         return false;
+      }
+
+      i = -(i + 1);
+      if (size == elements.length) {
+         elements = Arrays.copyOf(elements, size * 2);
+      }
+      System.arraycopy(elements, i, elements, i + 1, size - i);
+      elements[i] = element;
+      size++;
+      return true;
+   }
+
+
+   /**
+    * Ensures the collection does not contain the specified element.
+    * If the specified element is present, this method removes it
+    * from the collection and shifts later elements down one position.
+    *
+    * @param   element  The element to be removed.
+    * @return  true if collection is changed, false otherwise.
+    */
+   public boolean remove(T element) {
+      if (element == null) {
+         return false;
+      }
+
+      int i = search(element);
+      if (i < 0) {
+         return false;
+      }
+
+      System.arraycopy(elements, i + 1, elements, i, size - i - 1);
+      size--;
+      elements[size] = null;
+      return true;
+   }
+
+
+   /**
+    * Ensures the collection contains every element of the parameter.
+    * The elements are sorted once and merged with the array from the
+    * back, so a batch of k elements costs O(n + k log k).
+    *
+    * @param  batch  The elements whose presence is to be ensured.
+    * @return true if collection is changed, false otherwise.
+    */
+   @SuppressWarnings("unchecked")
+   public boolean addAll(Iterable<? extends T> batch) {
+      Object[] items = SortedArrays.toArray(batch);
+      int k = SortedArrays.sortDistinct(items);
+
+      int added = 0;
+      int i = 0;
+      for (int j = 0; j < k; j++) {
+         T val = (T) items[j];
+         while (i < size && at(i).compareTo(val) < 0) {
+            i++;
+         }
+         if (i < size && at(i).compareTo(val) == 0) {
+            items[j] = null;
+         }
+         else {
+            added++;
+         }
+      }
+      if (added == 0) {
+         return false;
+      }
+
+      if (size + added > elements.length) {
+         elements = Arrays.copyOf(elements, Math.max(size + added, size * 2));
+      }
+      int out = size + added;
+      i = size - 1;
+      for (int j = k - 1; j >= 0; j--) {
+         if (items[j] == null) {
+            continue;
+         }
+         T val = (T) items[j];
+         while (i >= 0 && at(i).compareTo(val) > 0) {
+            elements[--out] = elements[i--];
+         }
+         elements[--out] = val;
+      }
+      size += added;
+      return true;
+   }
+
+
+   /**
+    * Ensures the collection contains none of the elements of the parameter.
+    * The elements are sorted once and the array is compacted in a single
+    * pass, so a batch of k elements costs O(n + k log k).
+    *
+    * @param  batch  The elements to be removed.
+    * @return true if collection is changed, false otherwise.
+    */
+   public boolean removeAll(Iterable<? extends T> batch) {
+      Object[] items = SortedArrays.toArray(batch);
+      int k = SortedArrays.sortDistinct(items);
+      return filter(items, k, false);
+   }
+
+
+   /**
+    * Ensures the collection contains only elements of the parameter.
+    * The elements are sorted once and the array is compacted in a single
+    * pass, so a batch of k elements costs O(n + k log k).
+    *
+    * @param  batch  The elements to be kept.
+    * @return true if collection is changed, false otherwise.
+    */
+   public boolean retainAll(Iterable<? extends T> batch) {
+      Object[] items = SortedArrays.toArray(batch);
+      int k = SortedArrays.sortDistinct(items);
+      return filter(items, k, true);
+   }
+
+
+   /**
+    * Searches for specified element in this collection.
+    *
+    * @param   element  The element whose presence in this collection is to be tested.
+    * @return  true if this collection contains the specified element, false otherwise.
+    */
+   public boolean contains(T element) {
+      return element != null && search(element) >= 0;
+   }
+
+
+   /**
+    * Tests for equality between this set and the parameter set.
+    * Returns true if this set contains exactly the same elements
+    * as the parameter set, regardless of order.
+    *
+    * @return  true if this set contains exactly the same elements as
+    *               the parameter set, false otherwise
+    */
+   public boolean equals(Set<T> s) {
+      if (s == null || s.size() != size) {
+         return false;
+      }
+
+      if (s instanceof OrderedSet) {
+         int i = 0;
+         for (T val : s) {
+            if (at(i++).compareTo(val) != 0) {
+               return false;
+            }
+         }
+         return true;
+      }
+
+      for (T val : s) {
+         if (!contains(val)) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+
+   /**
+    * Returns a set that is the union of this set and the parameter set.
+    * If the parameter set is ordered, both sets are merged in a single
+    * pass; otherwise its elements are sorted first and merged by addAll.
+    *
+    * @return  a set that contains all the elements of this set and the parameter set
+    */
+   public Set<T> union(Set<T> s) {
+      if (s == null || s.isEmpty()) {
+         return copy();
+      }
+
+      if (!(s instanceof OrderedSet)) {
+         ArraySortedSet<T> uSet = copy();
+         uSet.addAll(s);
+         return uSet;
+      }
+
+      ArraySortedSet<T> uSet = new ArraySortedSet<T>(size + s.size());
+      Iterator<T> itr = s.iterator();
+      T val = nextOrNull(itr);
+      int i = 0;
+
+      while (i < size && val != null) {
+         int c = at(i).compareTo(val);
+         if (c < 0) {
+            uSet.elements[uSet.size++] = elements[i++];
+         }
+         else if (c > 0) {
+            uSet.elements[uSet.size++] = val;
+            val = nextOrNull(itr);
+         }
+         else {
+            uSet.elements[uSet.size++] = elements[i++];
+            val = nextOrNull(itr);
+         }
+      }
+
+      while (val != null) {
+         uSet.elements[uSet.size++] = val;
+         val = nextOrNull(itr);
+      }
+
+      System.arraycopy(elements, i, uSet.elements, uSet.size, size - i);
+      uSet.size += size - i;
+      return uSet;
+   }
+
+
+   /**
+    * Returns a set that is the intersection of this set and the parameter set.
+    * If one set is ordered and much smaller than the other, its elements
+    * are sought by galloping through the larger array, so this runs in
+    * O(m log(n / m)) rather than O(n + m).
+    *
+    * @return  a set that contains elements that are in both this set and the parameter set
+    */
+   public Set<T> intersection(Set<T> s) {
+      if (s == null || s.isEmpty()) {
+         return new ArraySortedSet<T>();
+      }
+
+      ArraySortedSet<T> iSet = new ArraySortedSet<T>(Math.min(size, s.size()));
+
+      if (s instanceof OrderedSet && (long) s.size() * SortedArrays.SKEW <= size) {
+         gallopIntersection(s.iterator(), elements, size, iSet);
+         return iSet;
+      }
+
+      if (s instanceof ArraySortedSet && (long) size * SortedArrays.SKEW <= s.size()) {
+         ArraySortedSet<T> large = (ArraySortedSet<T>) s;
+         gallopIntersection(iterator(), large.elements, large.size, iSet);
+         return iSet;
+      }
+
+      if (!(s instanceof OrderedSet)) {
+         for (int i = 0; i < size; i++) {
+            if (s.contains(at(i))) {
+               iSet.elements[iSet.size++] = elements[i];
+            }
+         }
+         return iSet;
+      }
+
+      Iterator<T> itr = s.iterator();
+      T val = nextOrNull(itr);
+      int i = 0;
+
+      while (i < size && val != null) {
+         int c = at(i).compareTo(val);
+         if (c < 0) {
+            i++;
+         }
+         else if (c > 0) {
+            val = nextOrNull(itr);
+         }
+         else {
+            iSet.elements[iSet.size++] = elements[i++];
+            val = nextOrNull(itr);
+         }
+      }
+
+      return iSet;
+   }
+
+
+   /**
+    * Returns a set that is the complement of this set and the parameter set.
+    *
+    * @return  a set that contains elements that are in this set but not the parameter set
+    */
+   public Set<T> complement(Set<T> s) {
+      if (s == null || s.isEmpty()) {
+         return copy();
+      }
+
+      ArraySortedSet<T> cSet = new ArraySortedSet<T>(size);
+
+      if (!(s instanceof OrderedSet)) {
+         for (int i = 0; i < size; i++) {
+            if (!s.contains(at(i))) {
+               cSet.elements[cSet.size++] = elements[i];
+            }
+         }
+         return cSet;
+      }
+
+      Iterator<T> itr = s.iterator();
+      T val = nextOrNull(itr);
+      int i = 0;
+
+      while (i < size && val != null) {
+         int c = at(i).compareTo(val);
+         if (c < 0) {
+            cSet.elements[cSet.size++] = elements[i++];
+         }
+         else if (c > 0) {
+            val = nextOrNull(itr);
+         }
+         else {
+            i++;
+            val = nextOrNull(itr);
+         }
+      }
+
+      System.arraycopy(elements, i, cSet.elements, cSet.size, size - i);
+      cSet.size += size - i;
+      return cSet;
+   }
+
+
+   /**
+    * Returns an iterator over the elements in this ArraySortedSet.
+    * Elements are returned in ascending natural order.
+    *
+    * @return  an iterator over the elements in this ArraySortedSet
+    */
+   public Iterator<T> iterator() {
+      return new ArrayIterator(0, 1);
+   }
+
+
+   /**
+    * Returns an iterator over the elements in this ArraySortedSet.
+    * Elements are returned in descending natural order.
+    *
+    * @return  an iterator over the elements in this ArraySortedSet
+    */
+   public Iterator<T> descendingIterator() {
+      return new ArrayIterator(size - 1, -1);
+   }
+
+
+   /**
+    * Returns a spliterator over the elements in this ArraySortedSet.
+    * It splits the array by index.
+    *
+    * @return  a spliterator over the elements in this ArraySortedSet
+    */
+   public Spliterator<T> spliterator() {
+      return Spliterators.spliterator(elements, 0, size, Spliterator.SORTED
+            | Spliterator.DISTINCT | Spliterator.ORDERED | Spliterator.NONNULL);
+   }
+
+
+   //////////////////////////////
+   // Private utility methods. //
+   //////////////////////////////
+
+   /**
+    * Returns the element at index i.
+    */
+   @SuppressWarnings("unchecked")
+   private T at(int i) {
+      return (T) elements[i];
+   }
+
+   /**
+    * Returns the index of element if it is present, otherwise
+    * -(insertion point) - 1.
+    */
+   private int search(T element) {
+      int low = 0;
+      int high = size - 1;
+      while (low <= high) {
+         int mid = (low + high) >>> 1;
+         int c = at(mid).compareTo(element);
+         if (c < 0) {
+            low = mid + 1;
+         }
+         else if (c > 0) {
+            high = mid - 1;
+         }
+         else {
+            return mid;
+         }
+      }
+      return -(low + 1);
+   }
+
+   /**
+    * Appends to iSet each element of small that is among the first
+    * count sorted items, galloping forward through items.
+    */
+   @SuppressWarnings("unchecked")
+   private static <T extends Comparable<? super T>> void gallopIntersection(Iterator<T> small,
+         Object[] items, int count, ArraySortedSet<T> iSet) {
+      int position = 0;
+      while (small.hasNext() && position < count) {
+         T val = small.next();
+         position = SortedArrays.gallop(items, position, count, val);
+         if (position < count && val.compareTo((T) items[position]) == 0) {
+            iSet.elements[iSet.size++] = items[position++];
+         }
+      }
+   }
+
+   /**
+    * Keeps the elements that are, or are not, among the first k sorted
+    * items, compacting the array in place.
+    */
+   @SuppressWarnings("unchecked")
+   private boolean filter(Object[] items, int k, boolean keepMatches) {
+      int out = 0;
+      int j = 0;
+      for (int i = 0; i < size; i++) {
+         T val = at(i);
+         while (j < k && ((T) items[j]).compareTo(val) < 0) {
+            j++;
+         }
+         boolean match = j < k && ((T) items[j]).compareTo(val) == 0;
+         if (match == keepMatches) {
+            elements[out++] = elements[i];
+         }
+      }
+      if (out == size) {
+         return false;
+      }
+      Arrays.fill(elements, out, size, null);
+      size = out;
+      return true;
+   }
+
+   /**
+    * Returns a copy of this set.
+    */
+   private ArraySortedSet<T> copy() {
+      ArraySortedSet<T> result = new ArraySortedSet<T>(size);
+      System.arraycopy(elements, 0, result.elements, 0, size);
+      result.size = size;
+      return result;
+   }
+
+   /**
+    * Returns the next element of itr, or null if it is exhausted.
+    */
+   private T nextOrNull(Iterator<T> itr) {
+      return itr.hasNext() ? itr.next() : null;
+   }
+
+
+   ////////////////////
+   // Nested classes //
+   ////////////////////
+
+   private class ArrayIterator implements Iterator<T> {
+      private int current;
+      private int step;
+
+      public ArrayIterator(int start, int step) {
+         current = start;
+         this.step = step;
+      }
+
+      @Override
+      public boolean hasNext() {
+         return current >= 0 && current < size;
+      }
+
+      @Override
+      public T next() {
+         if (!hasNext()) {
+            throw new NoSuchElementException();
+         }
+         T item = at(current);
+         current += step;
+         return item;
+      }
+
+      public void remove() {
+         throw new UnsupportedOperationException();
+      }
+   }
+
+}
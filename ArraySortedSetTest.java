@@ -0,0 +1,149 @@
+//@author Brian Betz
+
+import org.junit.Assert;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.Iterator;
+
+
+public class ArraySortedSetTest {
+
+
+   /** Fixture initialization (common initialization
+    *  for all tests). **/
+   @Before public void setUp() {
+   }
+   
+   
+   @Test public void basicAddTest() {
+      Set<Integer> set = new ArraySortedSet<Integer>(2);
+      set.add(4);
+      set.add(1);
+      set.add(5);
+      set.add(3);
+      set.add(1);
+      set.add(2);
+      set.add(2);
+      
+      Assert.assertEquals(5, set.size());
+      Assert.assertEquals("[1, 2, 3, 4, 5]", set.toString());
+   }
+   
+   @Test public void basicRemoveTest() {
+      Set<Integer> set = new ArraySortedSet<Integer>();
+      set.add(4);
+      set.add(1);
+      set.add(5);
+      set.add(3);
+      
+      Assert.assertTrue(set.remove(1));
+      Assert.assertTrue(set.remove(5));
+      Assert.assertFalse(set.remove(5));
+      Assert.assertFalse(set.contains(1));
+      Assert.assertTrue(set.contains(4));
+      Assert.assertEquals("[3, 4]", set.toString());
+   }
+   
+   @Test public void sameOrderAsLinkedSetTest() {
+      Set<String> set = new ArraySortedSet<String>();
+      Set<String> linked = new LinkedSet<String>();
+      String[] values = {"pear", "apple", "fig", "kiwi", "date"};
+      
+      for (String val : values) {
+         set.add(val);
+         linked.add(val);
+      }
+      
+      Iterator<String> itr = set.iterator();
+      for (String val : linked) {
+         Assert.assertEquals(val, itr.next());
+      }
+      Assert.assertFalse(itr.hasNext());
+      Assert.assertTrue(set.equals(linked));
+   }
+   
+   @Test public void unionIntersectionComplementTest() {
+      Set<Integer> set = new ArraySortedSet<Integer>();
+      Set<Integer> set1 = new LinkedSet<Integer>();
+      
+      set.add(1);
+      set.add(3);
+      set.add(5);
+      set.add(9);
+      
+      set1.add(2);
+      set1.add(3);
+      set1.add(9);
+      set1.add(10);
+      
+      Assert.assertEquals("[1, 2, 3, 5, 9, 10]", set.union(set1).toString());
+      Assert.assertEquals("[3, 9]", set.intersection(set1).toString());
+      Assert.assertEquals("[1, 5]", set.complement(set1).toString());
+      Assert.assertEquals("[2, 10]", set1.complement(set).toString());
+   }
+   
+   @Test public void descendingIteratorTest() {
+      ArraySortedSet<Integer> set = new ArraySortedSet<Integer>();
+      set.add(2);
+      set.add(3);
+      set.add(1);
+      
+      Iterator<Integer> itr = set.descendingIterator();
+      Assert.assertEquals(3, (int) itr.next());
+      Assert.assertEquals(2, (int) itr.next());
+      Assert.assertEquals(1, (int) itr.next());
+      Assert.assertFalse(itr.hasNext());
+   }
+   
+   @Test public void skewedIntersectionTest() {
+      ArraySortedSet<Integer> big = new ArraySortedSet<Integer>();
+      for (int i = 0; i < 2000; i++) {
+         big.add(i * 3);
+      }
+      ArraySortedSet<Integer> small = new ArraySortedSet<Integer>();
+      small.add(-3);
+      small.add(4);
+      small.add(9);
+      small.add(5997);
+      
+      Assert.assertEquals("[9, 5997]", small.intersection(big).toString());
+      Assert.assertEquals("[9, 5997]", big.intersection(small).toString());
+   }
+   
+   @Test public void unorderedOperandTest() {
+      ArraySortedSet<Integer> set = new ArraySortedSet<Integer>();
+      for (int i = 1; i <= 9; i += 2) {
+         set.add(i);
+      }
+      Set<Integer> unordered = new Set<Integer>() {
+         private java.util.TreeSet<Integer> items =
+            new java.util.TreeSet<Integer>(java.util.Arrays.asList(9, 2, 7, 10));
+         public boolean add(Integer e) { return items.add(e); }
+         public boolean remove(Integer e) { return items.remove(e); }
+         public boolean contains(Integer e) { return items.contains(e); }
+         public int size() { return items.size(); }
+         public boolean isEmpty() { return items.isEmpty(); }
+         public boolean equals(Set<Integer> s) { return false; }
+         public Set<Integer> union(Set<Integer> s) { return null; }
+         public Set<Integer> intersection(Set<Integer> s) { return null; }
+         public Set<Integer> complement(Set<Integer> s) { return null; }
+         public Iterator<Integer> iterator() { return items.descendingIterator(); }
+      };
+      Assert.assertEquals("[1, 2, 3, 5, 7, 9, 10]", set.union(unordered).toString());
+      Assert.assertEquals("[7, 9]", set.intersection(unordered).toString());
+      Assert.assertEquals("[1, 3, 5]", set.complement(unordered).toString());
+      Assert.assertEquals("[1, 3, 5, 7, 9]", set.toString());
+   }
+   
+   @Test public void nullOperandTest() {
+      ArraySortedSet<Integer> set = new ArraySortedSet<Integer>();
+      set.add(1);
+      set.add(2);
+      
+      Assert.assertEquals("[1, 2]", set.union(null).toString());
+      Assert.assertTrue(set.intersection(null).isEmpty());
+      Assert.assertEquals("[1, 2]", set.complement(null).toString());
+   }
+   
+}
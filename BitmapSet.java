@@ -0,0 +1,932 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Provides an implementation of the Set interface for Integer values
+ * as a compressed bitmap. Values are split into 2^16 chunks by their
+ * high sixteen bits, and each chunk is stored in whichever container is
+ * smallest: a sorted array of low bits, a 1024-word bitmap, or a list of
+ * runs. Set operations between two BitmapSets work container by container
+ * with word-parallel bitwise operations.
+ *
+ * <p>The sign bit of each value is flipped before it is split, so the
+ * chunks are visited in the same ascending order as a LinkedSet of the
+ * same values.
+ *
+ * @author Brian Betz (betzbri@auburn.edu
+ * @version 2016-03-13
+ *
+ */
+public class BitmapSet implements OrderedSet<Integer> {
+
+   /** The most values an array container holds before it becomes a bitmap. */
+   static final int ARRAY_MAX = 4096;
+
+   /** The number of 64-bit words in a bitmap container. */
+   static final int WORDS = 1024;
+
+   /** The high sixteen bits of each chunk, in ascending order. */
+   char[] keys;
+
+   /** The container for each chunk, parallel to keys. */
+   Container[] containers;
+
+   /** The number of chunks in use. */
+   int count;
+
+   /** The number of values in this set. */
+   int size;
+
+   /**
+    * Instantiates an empty BitmapSet.
+    */
+   public BitmapSet() {
+      keys = new char[4];
+      containers = new Container[4];
+      count = 0;
+      size = 0;
+   }
+
+
+   /**
+    * Return a string representation of this BitmapSet.
+    *
+    * @return a string representation of this BitmapSet
+    */
+   @Override
+   public String toString() {
+      if (isEmpty()) {
+         return "[]";
+      }
+      StringBuilder result = new StringBuilder();
+      result.append("[");
+      for (Integer element : this) {
+         result.append(element);
+         result.append(", ");
+      }
+      result.delete(result.length() - 2, result.length());
+      result.append("]");
+      return result.toString();
+   }
+
+
+   /**
+    * Returns the current size of this collection.
+    *
+    * @return  the number of elements in this collection.
+    */
+   public int size() {
+      return size;
+   }
+
+
+   /**
+    * Tests to see if this collection is empty.
+    *
+    * @return  true if this collection contains no elements, false otherwise.
+    */
+   public boolean isEmpty() {
+      return (size == 0);
+   }
+
+
+   /**
+    * Ensures the collection contains the specified element.
+    *
+    * @param  element  The element whose presence is to be ensured.
+    * @return true if collection is changed, false otherwise.
+    */
+   public boolean add(Integer element) {
+      if (element == null) {
+         return false;
+      }
+
+      int u = element ^ Integer.MIN_VALUE;
+      int low = u & 0xFFFF;
+      int i = indexOf((char) (u >>> 16));
+
+      if (i < 0) {
+         i = -(i + 1);
+         insertChunk(i, (char) (u >>> 16), new ArrayContainer(new char[4], 0));
+      }
+      else if (containers[i].contains(low)) {
+         return false;
+      }
+
+      containers[i] = containers[i].add(low);
+      size++;
+      return true;
+   }
+
+
+   /**
+    * Ensures the collection does not contain the specified element.
+    *
+    * @param   element  The element to be removed.
+    * @return  true if collection is changed, false otherwise.
+    */
+   public boolean remove(Integer element) {
+      if (element == null) {
+         return false;
+      }
+
+      int u = element ^ Integer.MIN_VALUE;
+      int low = u & 0xFFFF;
+      int i = indexOf((char) (u >>> 16));
+
+      if (i < 0 || !containers[i].contains(low)) {
+         return false;
+      }
+
+      Container c = containers[i].remove(low);
+      if (c.cardinality() == 0) {
+         removeChunk(i);
+      }
+      else {
+         containers[i] = c;
+      }
+      size--;
+      return true;
+   }
+
+
+   /**
+    * Searches for specified element in this collection.
+    *
+    * @param   element  The element whose presence in this collection is to be tested.
+    * @return  true if this collection contains the specified element, false otherwise.
+    */
+   public boolean contains(Integer element) {
+      if (element == null) {
+         return false;
+      }
+
+      int u = element ^ Integer.MIN_VALUE;
+      int i = indexOf((char) (u >>> 16));
+      return i >= 0 && containers[i].contains(u & 0xFFFF);
+   }
+
+
+   /**
+    * Tests for equality between this set and the parameter set.
+    * Returns true if this set contains exactly the same elements
+    * as the parameter set, regardless of order.
+    *
+    * @return  true if this set contains exactly the same elements as
+    *               the parameter set, false otherwise
+    */
+   public boolean equals(Set<Integer> s) {
+      if (s == null || s.size() != size) {
+         return false;
+      }
+
+      for (Integer val : s) {
+         if (!contains(val)) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+
+   /**
+    * Returns a set that is the union of this set and the parameter set.
+    *
+    * @return  a set that contains all the elements of this set and the parameter set
+    */
+   public Set<Integer> union(Set<Integer> s) {
+      if (!(s instanceof BitmapSet)) {
+         BitmapSet uSet = copy();
+         for (Integer val : s) {
+            uSet.add(val);
+         }
+         return uSet;
+      }
+
+      BitmapSet b = (BitmapSet) s;
+      BitmapSet uSet = new BitmapSet();
+      int i = 0;
+      int j = 0;
+
+      while (i < count && j < b.count) {
+         if (keys[i] < b.keys[j]) {
+            uSet.appendChunk(keys[i], containers[i].copy());
+            i++;
+         }
+         else if (keys[i] > b.keys[j]) {
+            uSet.appendChunk(b.keys[j], b.containers[j].copy());
+            j++;
+         }
+         else {
+            uSet.appendChunk(keys[i], or(containers[i], b.containers[j]));
+            i++;
+            j++;
+         }
+      }
+
+      for (; i < count; i++) {
+         uSet.appendChunk(keys[i], containers[i].copy());
+      }
+      for (; j < b.count; j++) {
+         uSet.appendChunk(b.keys[j], b.containers[j].copy());
+      }
+      return uSet;
+   }
+
+
+   /**
+    * Returns a set that is the intersection of this set and the parameter set.
+    *
+    * @return  a set that contains elements that are in both this set and the parameter set
+    */
+   public Set<Integer> intersection(Set<Integer> s) {
+      BitmapSet iSet = new BitmapSet();
+
+      if (!(s instanceof BitmapSet)) {
+         for (Integer val : s) {
+            if (contains(val)) {
+               iSet.add(val);
+            }
+         }
+         return iSet;
+      }
+
+      BitmapSet b = (BitmapSet) s;
+      int i = 0;
+      int j = 0;
+
+      while (i < count && j < b.count) {
+         if (keys[i] < b.keys[j]) {
+            i++;
+         }
+         else if (keys[i] > b.keys[j]) {
+            j++;
+         }
+         else {
+            iSet.appendChunk(keys[i], and(containers[i], b.containers[j]));
+            i++;
+            j++;
+         }
+      }
+      return iSet;
+   }
+
+
+   /**
+    * Returns a set that is the complement of this set and the parameter set.
+    *
+    * @return  a set that contains elements that are in this set but not the parameter set
+    */
+   public Set<Integer> complement(Set<Integer> s) {
+      if (!(s instanceof BitmapSet)) {
+         BitmapSet cSet = copy();
+         for (Integer val : s) {
+            cSet.remove(val);
+         }
+         return cSet;
+      }
+
+      BitmapSet b = (BitmapSet) s;
+      BitmapSet cSet = new BitmapSet();
+      int i = 0;
+      int j = 0;
+
+      while (i < count && j < b.count) {
+         if (keys[i] < b.keys[j]) {
+            cSet.appendChunk(keys[i], containers[i].copy());
+            i++;
+         }
+         else if (keys[i] > b.keys[j]) {
+            j++;
+         }
+         else {
+            cSet.appendChunk(keys[i], andNot(containers[i], b.containers[j]));
+            i++;
+            j++;
+         }
+      }
+
+      for (; i < count; i++) {
+         cSet.appendChunk(keys[i], containers[i].copy());
+      }
+      return cSet;
+   }
+
+
+   /**
+    * Converts every chunk to whichever container is smallest for
+    * its current contents. Containers changed by add and remove are
+    * only converted between array and bitmap form, so call this after
+    * loading long runs of consecutive values.
+    */
+   public void runOptimize() {
+      for (int i = 0; i < count; i++) {
+         containers[i] = best(containers[i].toWords(), containers[i].cardinality());
+      }
+   }
+
+
+   /**
+    * Returns an iterator over the elements in this BitmapSet.
+    * Elements are returned in ascending natural order.
+    *
+    * @return  an iterator over the elements in this BitmapSet
+    */
+   public Iterator<Integer> iterator() {
+      return new BitmapIterator(true);
+   }
+
+
+   /**
+    * Returns an iterator over the elements in this BitmapSet.
+    * Elements are returned in descending natural order.
+    *
+    * @return  an iterator over the elements in this BitmapSet
+    */
+   public Iterator<Integer> descendingIterator() {
+      return new BitmapIterator(false);
+   }
+
+
+   //////////////////////////////
+   // Private utility methods. //
+   //////////////////////////////
+
+   /**
+    * Returns the index of key in keys, or -(insertion point) - 1.
+    */
+   private int indexOf(char key) {
+      int low = 0;
+      int high = count - 1;
+      while (low <= high) {
+         int mid = (low + high) >>> 1;
+         if (keys[mid] < key) {
+            low = mid + 1;
+         }
+         else if (keys[mid] > key) {
+            high = mid - 1;
+         }
+         else {
+            return mid;
+         }
+      }
+      return -(low + 1);
+   }
+
+   /**
+    * Inserts a chunk at index i.
+    */
+   private void insertChunk(int i, char key, Container c) {
+      if (count == keys.length) {
+         keys = Arrays.copyOf(keys, count * 2);
+         containers = Arrays.copyOf(containers, count * 2);
+      }
+      System.arraycopy(keys, i, keys, i + 1, count - i);
+      System.arraycopy(containers, i, containers, i + 1, count - i);
+      keys[i] = key;
+      containers[i] = c;
+      count++;
+   }
+
+   /**
+    * Removes the chunk at index i.
+    */
+   private void removeChunk(int i) {
+      System.arraycopy(keys, i + 1, keys, i, count - i - 1);
+      System.arraycopy(containers, i + 1, containers, i, count - i - 1);
+      count--;
+      containers[count] = null;
+   }
+
+   /**
+    * Appends a chunk whose key is greater than every key in use.
+    * Empty containers are dropped.
+    */
+   private void appendChunk(char key, Container c) {
+      if (c.cardinality() == 0) {
+         return;
+      }
+      insertChunk(count, key, c);
+      size += c.cardinality();
+   }
+
+   /**
+    * Returns a deep copy of this set.
+    */
+   private BitmapSet copy() {
+      BitmapSet result = new BitmapSet();
+      for (int i = 0; i < count; i++) {
+         result.appendChunk(keys[i], containers[i].copy());
+      }
+      return result;
+   }
+
+   /**
+    * Returns the union of two containers.
+    */
+   static Container or(Container a, Container b) {
+      if (a instanceof ArrayContainer && b instanceof ArrayContainer
+            && a.cardinality() + b.cardinality() <= ARRAY_MAX) {
+         ArrayContainer x = (ArrayContainer) a;
+         ArrayContainer y = (ArrayContainer) b;
+         char[] out = new char[x.card + y.card];
+         int n = 0;
+         int i = 0;
+         int j = 0;
+         while (i < x.card && j < y.card) {
+            if (x.values[i] < y.values[j]) {
+               out[n++] = x.values[i++];
+            }
+            else if (x.values[i] > y.values[j]) {
+               out[n++] = y.values[j++];
+            }
+            else {
+               out[n++] = x.values[i++];
+               j++;
+            }
+         }
+         while (i < x.card) {
+            out[n++] = x.values[i++];
+         }
+         while (j < y.card) {
+            out[n++] = y.values[j++];
+         }
+         return new ArrayContainer(out, n);
+      }
+
+      long[] words = a.toWords();
+      long[] other = b.toWords();
+      int card = 0;
+      for (int k = 0; k < WORDS; k++) {
+         words[k] |= other[k];
+         card += Long.bitCount(words[k]);
+      }
+      return best(words, card);
+   }
+
+   /**
+    * Returns the intersection of two containers.
+    */
+   static Container and(Container a, Container b) {
+      if (b instanceof ArrayContainer) {
+         Container t = a;
+         a = b;
+         b = t;
+      }
+      if (a instanceof ArrayContainer) {
+         ArrayContainer x = (ArrayContainer) a;
+         char[] out = new char[x.card];
+         int n = 0;
+         for (int i = 0; i < x.card; i++) {
+            if (b.contains(x.values[i])) {
+               out[n++] = x.values[i];
+            }
+         }
+         return new ArrayContainer(out, n);
+      }
+
+      long[] words = a.toWords();
+      long[] other = b.toWords();
+      int card = 0;
+      for (int k = 0; k < WORDS; k++) {
+         words[k] &= other[k];
+         card += Long.bitCount(words[k]);
+      }
+      return best(words, card);
+   }
+
+   /**
+    * Returns the values of a that are not in b.
+    */
+   static Container andNot(Container a, Container b) {
+      if (a instanceof ArrayContainer) {
+         ArrayContainer x = (ArrayContainer) a;
+         char[] out = new char[x.card];
+         int n = 0;
+         for (int i = 0; i < x.card; i++) {
+            if (!b.contains(x.values[i])) {
+               out[n++] = x.values[i];
+            }
+         }
+         return new ArrayContainer(out, n);
+      }
+
+      long[] words = a.toWords();
+      long[] other = b.toWords();
+      int card = 0;
+      for (int k = 0; k < WORDS; k++) {
+         words[k] &= ~other[k];
+         card += Long.bitCount(words[k]);
+      }
+      return best(words, card);
+   }
+
+   /**
+    * Returns the smallest container holding the bits of words,
+    * which has card bits set.
+    */
+   static Container best(long[] words, int card) {
+      int runs = 0;
+      long carry = 0;
+      for (int k = 0; k < WORDS; k++) {
+         long w = words[k];
+         runs += Long.bitCount(w & ~((w << 1) | carry));
+         carry = w >>> 63;
+      }
+
+      int runBytes = 4 * runs;
+      int arrayBytes = 2 * card;
+      if (runBytes < Math.min(arrayBytes, 8 * WORDS)) {
+         return RunContainer.of(words, runs, card);
+      }
+      if (card <= ARRAY_MAX) {
+         return ArrayContainer.of(words, card);
+      }
+      return new BitmapContainer(words, card);
+   }
+
+
+   ////////////////////
+   // Nested classes //
+   ////////////////////
+
+   /**
+    * Defines the storage for the low sixteen bits of one chunk.
+    * Mutating methods return the container that should replace
+    * this one, which may be of a different kind.
+    */
+   abstract static class Container {
+      abstract int cardinality();
+
+      abstract boolean contains(int low);
+
+      abstract Container add(int low);
+
+      abstract Container remove(int low);
+
+      /** Returns the least value not less than from, or -1. */
+      abstract int next(int from);
+
+      /** Returns the greatest value not greater than from, or -1. */
+      abstract int prev(int from);
+
+      /** Returns a new bitmap of this container's values. */
+      abstract long[] toWords();
+
+      abstract Container copy();
+   }
+
+   /**
+    * Defines a container that stores its values in a sorted array.
+    */
+   static final class ArrayContainer extends Container {
+      char[] values;
+      int card;
+
+      ArrayContainer(char[] values, int card) {
+         this.values = values;
+         this.card = card;
+      }
+
+      static ArrayContainer of(long[] words, int card) {
+         char[] values = new char[card];
+         int n = 0;
+         for (int k = 0; k < WORDS; k++) {
+            long w = words[k];
+            while (w != 0) {
+               values[n++] = (char) (k * 64 + Long.numberOfTrailingZeros(w));
+               w &= w - 1;
+            }
+         }
+         return new ArrayContainer(values, card);
+      }
+
+      int cardinality() {
+         return card;
+      }
+
+      boolean contains(int low) {
+         return Arrays.binarySearch(values, 0, card, (char) low) >= 0;
+      }
+
+      Container add(int low) {
+         int i = Arrays.binarySearch(values, 0, card, (char) low);
+         if (i >= 0) {
+            return this;
+         }
+         if (card == ARRAY_MAX) {
+            long[] words = toWords();
+            words[low >>> 6] |= 1L << low;
+            return new BitmapContainer(words, card + 1);
+         }
+         i = -(i + 1);
+         if (card == values.length) {
+            values = Arrays.copyOf(values, Math.min(Math.max(card * 2, 4), ARRAY_MAX));
+         }
+         System.arraycopy(values, i, values, i + 1, card - i);
+         values[i] = (char) low;
+         card++;
+         return this;
+      }
+
+      Container remove(int low) {
+         int i = Arrays.binarySearch(values, 0, card, (char) low);
+         if (i >= 0) {
+            System.arraycopy(values, i + 1, values, i, card - i - 1);
+            card--;
+         }
+         return this;
+      }
+
+      int next(int from) {
+         int i = Arrays.binarySearch(values, 0, card, (char) from);
+         if (i < 0) {
+            i = -(i + 1);
+         }
+         return i < card ? values[i] : -1;
+      }
+
+      int prev(int from) {
+         int i = Arrays.binarySearch(values, 0, card, (char) from);
+         if (i < 0) {
+            i = -(i + 1) - 1;
+         }
+         return i >= 0 ? values[i] : -1;
+      }
+
+      long[] toWords() {
+         long[] words = new long[WORDS];
+         for (int i = 0; i < card; i++) {
+            words[values[i] >>> 6] |= 1L << values[i];
+         }
+         return words;
+      }
+
+      Container copy() {
+         return new ArrayContainer(Arrays.copyOf(values, Math.max(card, 1)), card);
+      }
+   }
+
+   /**
+    * Defines a container that stores one bit per possible value.
+    */
+   static final class BitmapContainer extends Container {
+      long[] words;
+      int card;
+
+      BitmapContainer(long[] words, int card) {
+         this.words = words;
+         this.card = card;
+      }
+
+      int cardinality() {
+         return card;
+      }
+
+      boolean contains(int low) {
+         return (words[low >>> 6] & (1L << low)) != 0;
+      }
+
+      Container add(int low) {
+         if (!contains(low)) {
+            words[low >>> 6] |= 1L << low;
+            card++;
+         }
+         return this;
+      }
+
+      Container remove(int low) {
+         if (contains(low)) {
+            words[low >>> 6] &= ~(1L << low);
+            card--;
+            if (card <= ARRAY_MAX) {
+               return ArrayContainer.of(words, card);
+            }
+         }
+         return this;
+      }
+
+      int next(int from) {
+         int k = from >>> 6;
+         long w = words[k] & (-1L << from);
+         while (w == 0) {
+            if (++k == WORDS) {
+               return -1;
+            }
+            w = words[k];
+         }
+         return k * 64 + Long.numberOfTrailingZeros(w);
+      }
+
+      int prev(int from) {
+         int k = from >>> 6;
+         long w = words[k] & (-1L >>> (63 - (from & 63)));
+         while (w == 0) {
+            if (--k < 0) {
+               return -1;
+            }
+            w = words[k];
+         }
+         return k * 64 + 63 - Long.numberOfLeadingZeros(w);
+      }
+
+      long[] toWords() {
+         return words.clone();
+      }
+
+      Container copy() {
+         return new BitmapContainer(words.clone(), card);
+      }
+   }
+
+   /**
+    * Defines a container that stores runs of consecutive values as
+    * (start, length - 1) pairs in ascending order.
+    */
+   static final class RunContainer extends Container {
+      char[] runs;
+      int nruns;
+      int card;
+
+      RunContainer(char[] runs, int nruns, int card) {
+         this.runs = runs;
+         this.nruns = nruns;
+         this.card = card;
+      }
+
+      static RunContainer of(long[] words, int nruns, int card) {
+         char[] runs = new char[2 * nruns];
+         int n = 0;
+         int v = -1;
+         while ((v = nextSet(words, v + 1)) >= 0) {
+            int end = nextClear(words, v) - 1;
+            runs[n++] = (char) v;
+            runs[n++] = (char) (end - v);
+            v = end;
+         }
+         return new RunContainer(runs, nruns, card);
+      }
+
+      private static int nextSet(long[] words, int from) {
+         if (from >= 1 << 16) {
+            return -1;
+         }
+         int k = from >>> 6;
+         long w = words[k] & (-1L << from);
+         while (w == 0) {
+            if (++k == WORDS) {
+               return -1;
+            }
+            w = words[k];
+         }
+         return k * 64 + Long.numberOfTrailingZeros(w);
+      }
+
+      private static int nextClear(long[] words, int from) {
+         int k = from >>> 6;
+         long w = ~words[k] & (-1L << from);
+         while (w == 0) {
+            if (++k == WORDS) {
+               return 1 << 16;
+            }
+            w = ~words[k];
+         }
+         return k * 64 + Long.numberOfTrailingZeros(w);
+      }
+
+      /** Returns the index of the last run starting at or before low, or -1. */
+      private int runAtOrBefore(int low) {
+         int lo = 0;
+         int hi = nruns - 1;
+         while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (runs[2 * mid] <= low) {
+               lo = mid + 1;
+            }
+            else {
+               hi = mid - 1;
+            }
+         }
+         return hi;
+      }
+
+      int cardinality() {
+         return card;
+      }
+
+      boolean contains(int low) {
+         int r = runAtOrBefore(low);
+         return r >= 0 && low <= runs[2 * r] + runs[2 * r + 1];
+      }
+
+      Container add(int low) {
+         if (contains(low)) {
+            return this;
+         }
+         long[] words = toWords();
+         words[low >>> 6] |= 1L << low;
+         return best(words, card + 1);
+      }
+
+      Container remove(int low) {
+         if (!contains(low)) {
+            return this;
+         }
+         long[] words = toWords();
+         words[low >>> 6] &= ~(1L << low);
+         return best(words, card - 1);
+      }
+
+      int next(int from) {
+         int r = runAtOrBefore(from);
+         if (r >= 0 && from <= runs[2 * r] + runs[2 * r + 1]) {
+            return from;
+         }
+         return r + 1 < nruns ? runs[2 * (r + 1)] : -1;
+      }
+
+      int prev(int from) {
+         int r = runAtOrBefore(from);
+         if (r < 0) {
+            return -1;
+         }
+         return Math.min(from, runs[2 * r] + runs[2 * r + 1]);
+      }
+
+      long[] toWords() {
+         long[] words = new long[WORDS];
+         for (int r = 0; r < nruns; r++) {
+            int start = runs[2 * r];
+            int end = start + runs[2 * r + 1];
+            int first = start >>> 6;
+            int last = end >>> 6;
+            if (first == last) {
+               words[first] |= (-1L << start) & (-1L >>> (63 - (end & 63)));
+            }
+            else {
+               words[first] |= -1L << start;
+               for (int k = first + 1; k < last; k++) {
+                  words[k] = -1L;
+               }
+               words[last] |= -1L >>> (63 - (end & 63));
+            }
+         }
+         return words;
+      }
+
+      Container copy() {
+         return new RunContainer(runs.clone(), nruns, card);
+      }
+   }
+
+   private class BitmapIterator implements Iterator<Integer> {
+      private boolean ascending;
+      private int chunk;
+      private int low;
+
+      public BitmapIterator(boolean ascending) {
+         this.ascending = ascending;
+         chunk = ascending ? 0 : count - 1;
+         low = -1;
+         if (chunk >= 0 && chunk < count) {
+            low = ascending ? containers[chunk].next(0) : containers[chunk].prev(0xFFFF);
+         }
+      }
+
+      @Override
+      public boolean hasNext() {
+         return low >= 0;
+      }
+
+      @Override
+      public Integer next() {
+         if (!hasNext()) {
+            throw new NoSuchElementException();
+         }
+         int item = ((keys[chunk] << 16) | low) ^ Integer.MIN_VALUE;
+         advance();
+         return item;
+      }
+
+      private void advance() {
+         if (ascending) {
+            low = low < 0xFFFF ? containers[chunk].next(low + 1) : -1;
+            if (low < 0 && ++chunk < count) {
+               low = containers[chunk].next(0);
+            }
+         }
+         else {
+            low = low > 0 ? containers[chunk].prev(low - 1) : -1;
+            if (low < 0 && --chunk >= 0) {
+               low = containers[chunk].prev(0xFFFF);
+            }
+         }
+      }
+
+      public void remove() {
+         throw new UnsupportedOperationException();
+      }
+   }
+
+}
@@ -0,0 +1,67 @@
+//@author Brian Betz
+
+import org.junit.Assert;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.Iterator;
+
+
+public class BitmapSetTest {
+
+
+   /** Fixture initialization (common initialization
+    *  for all tests). **/
+   @Before public void setUp() {
+   }
+   
+   
+   @Test public void sameOrderAsLinkedSetTest() {
+      Set<Integer> set = new BitmapSet();
+      LinkedSet<Integer> linked = new LinkedSet<Integer>();
+      int[] values = {5, -3, 70000, Integer.MIN_VALUE, Integer.MAX_VALUE, 0, -70000};
+      
+      for (int val : values) {
+         set.add(val);
+         linked.add(val);
+      }
+      
+      Assert.assertEquals(linked.toString(), set.toString());
+      Assert.assertTrue(set.equals(linked));
+   }
+   
+   @Test public void denseRangeTest() {
+      BitmapSet set = new BitmapSet();
+      for (int i = 0; i < 100000; i++) {
+         set.add(i);
+      }
+      set.runOptimize();
+      set.remove(500);
+      
+      Assert.assertEquals(99999, set.size());
+      Assert.assertFalse(set.contains(500));
+      Assert.assertTrue(set.contains(501));
+      Assert.assertFalse(set.contains(100000));
+      
+      Iterator<Integer> itr = set.descendingIterator();
+      Assert.assertEquals(99999, (int) itr.next());
+      Assert.assertEquals(99998, (int) itr.next());
+   }
+   
+   @Test public void unionIntersectionComplementTest() {
+      BitmapSet evens = new BitmapSet();
+      BitmapSet small = new BitmapSet();
+      for (int i = 0; i < 20000; i += 2) {
+         evens.add(i);
+      }
+      for (int i = 0; i < 10; i++) {
+         small.add(i);
+      }
+      
+      Assert.assertEquals(10005, evens.union(small).size());
+      Assert.assertEquals("[0, 2, 4, 6, 8]", evens.intersection(small).toString());
+      Assert.assertEquals("[1, 3, 5, 7, 9]", small.complement(evens).toString());
+      Assert.assertEquals(9995, evens.complement(small).size());
+   }
+   
+}
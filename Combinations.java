@@ -0,0 +1,273 @@
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Provides the subsets of size k of a snapshot of an ordered set.
+ * Subsets are enumerated in lexicographic order of their element
+ * positions by advancing a single index array in place. Each subset
+ * is a read-only view over the shared, sorted element array.
+ *
+ * @author Brian Betz (betzbri@auburn.edu
+ * @version 2016-03-13
+ *
+ */
+public class Combinations<T extends Comparable<? super T>> implements Iterable<Set<T>> {
+
+   /** The elements of the base set in ascending natural order. */
+   final T[] elements;
+
+   /** The size of each subset. */
+   final int k;
+
+   /** C(i, j) for i up to n and j up to k, saturated at Long.MAX_VALUE. */
+   private final long[][] binomial;
+
+   /**
+    * Instantiates the subsets of size k of the current elements of s.
+    *
+    * @param  s  the set whose subsets are enumerated
+    * @param  k  the size of each subset
+    * @throws IllegalArgumentException if k is negative
+    */
+   @SuppressWarnings("unchecked")
+   public Combinations(OrderedSet<T> s, int k) {
+      if (k < 0) {
+         throw new IllegalArgumentException("k must not be negative: " + k);
+      }
+      elements = (T[]) new Comparable<?>[s.size()];
+      int i = 0;
+      for (T val : s) {
+         elements[i++] = val;
+      }
+      this.k = k;
+
+      int n = elements.length;
+      binomial = new long[n + 1][Math.min(k, n) + 1];
+      for (int a = 0; a <= n; a++) {
+         binomial[a][0] = 1;
+         for (int b = 1; b <= Math.min(a, k); b++) {
+            long sum = binomial[a - 1][b - 1] + binomial[a - 1][b];
+            binomial[a][b] = (sum < 0) ? Long.MAX_VALUE : sum;
+         }
+      }
+   }
+
+
+   /**
+    * Returns the number of subsets, C(n, k), or Long.MAX_VALUE if it
+    * does not fit in a long. There are none if k is greater than n.
+    *
+    * @return  the number of subsets of size k
+    */
+   public long size() {
+      return choose(elements.length, k);
+   }
+
+
+   /**
+    * Returns an iterator over the subsets of size k in lexicographic order.
+    *
+    * @return  an iterator over the subsets of size k
+    */
+   public Iterator<Set<T>> iterator() {
+      return new CombinationIterator();
+   }
+
+
+   /**
+    * Returns a spliterator over the subsets of size k. It splits the
+    * range of lexicographic ranks in half and starts each half by
+    * unranking its first subset. If C(n, k) does not fit in a long the
+    * subsets are enumerated sequentially.
+    *
+    * @return  a spliterator over the subsets of size k
+    */
+   public Spliterator<Set<T>> spliterator() {
+      long count = size();
+      if (count == Long.MAX_VALUE) {
+         return Spliterators.spliteratorUnknownSize(iterator(),
+               Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+      }
+      return new CombinationSpliterator(0, count);
+   }
+
+
+   /**
+    * Returns a sequential stream over the subsets of size k.
+    *
+    * @return  a stream over the subsets of size k
+    */
+   public Stream<Set<T>> stream() {
+      return StreamSupport.stream(spliterator(), false);
+   }
+
+
+   /**
+    * Returns a parallel stream over the subsets of size k.
+    *
+    * @return  a parallel stream over the subsets of size k
+    */
+   public Stream<Set<T>> parallelStream() {
+      return StreamSupport.stream(spliterator(), true);
+   }
+
+
+   //////////////////////////////
+   // Private utility methods. //
+   //////////////////////////////
+
+   /**
+    * Returns C(i, j), saturated at Long.MAX_VALUE.
+    */
+   private long choose(int i, int j) {
+      if (j < 0 || j > i) {
+         return 0;
+      }
+      return binomial[i][j];
+   }
+
+   /**
+    * Stores the positions of the subset with the given rank in indices.
+    */
+   private void unrank(long rank, int[] indices) {
+      int n = elements.length;
+      int x = 0;
+      for (int j = 0; j < k; j++) {
+         long c = choose(n - 1 - x, k - 1 - j);
+         while (c <= rank) {
+            rank -= c;
+            x++;
+            c = choose(n - 1 - x, k - 1 - j);
+         }
+         indices[j] = x++;
+      }
+   }
+
+   /**
+    * Advances indices to the next subset, returning false if it was
+    * the last one.
+    */
+   private boolean advance(int[] indices) {
+      int n = elements.length;
+      int i = k - 1;
+      while (i >= 0 && indices[i] == n - k + i) {
+         i--;
+      }
+      if (i < 0) {
+         return false;
+      }
+      indices[i]++;
+      for (int j = i + 1; j < k; j++) {
+         indices[j] = indices[j - 1] + 1;
+      }
+      return true;
+   }
+
+   /**
+    * Returns a view of the elements at the given positions.
+    */
+   private Set<T> subset(int[] indices) {
+      long[] mask = new long[(elements.length + 63) >>> 6];
+      for (int i = 0; i < k; i++) {
+         mask[indices[i] >>> 6] |= 1L << indices[i];
+      }
+      return new PowerSet.Subset<T>(elements, mask);
+   }
+
+
+   ////////////////////
+   // Nested classes //
+   ////////////////////
+
+   private class CombinationIterator implements Iterator<Set<T>> {
+      private int[] indices;
+      private boolean more;
+
+      public CombinationIterator() {
+         more = k <= elements.length;
+         indices = new int[more ? k : 0];
+         for (int i = 0; i < indices.length; i++) {
+            indices[i] = i;
+         }
+      }
+
+      @Override
+      public boolean hasNext() {
+         return more;
+      }
+
+      @Override
+      public Set<T> next() {
+         if (!hasNext()) {
+            throw new NoSuchElementException();
+         }
+         Set<T> result = subset(indices);
+         more = advance(indices);
+         return result;
+      }
+
+      public void remove() {
+         throw new UnsupportedOperationException();
+      }
+   }
+
+   /**
+    * Enumerates the subsets with ranks in [rank, end).
+    */
+   private class CombinationSpliterator implements Spliterator<Set<T>> {
+      private long rank;
+      private long end;
+      private int[] indices;
+
+      public CombinationSpliterator(long rank, long end) {
+         this.rank = rank;
+         this.end = end;
+      }
+
+      @Override
+      public boolean tryAdvance(Consumer<? super Set<T>> action) {
+         if (rank >= end) {
+            return false;
+         }
+         if (indices == null) {
+            indices = new int[k];
+            unrank(rank, indices);
+         }
+         else {
+            advance(indices);
+         }
+         rank++;
+         action.accept(subset(indices));
+         return true;
+      }
+
+      @Override
+      public Spliterator<Set<T>> trySplit() {
+         if (end - rank < 2) {
+            return null;
+         }
+         long mid = rank + ((end - rank) >>> 1);
+         CombinationSpliterator prefix = new CombinationSpliterator(rank, mid);
+         rank = mid;
+         indices = null;
+         return prefix;
+      }
+
+      @Override
+      public long estimateSize() {
+         return end - rank;
+      }
+
+      @Override
+      public int characteristics() {
+         return Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.SIZED
+               | Spliterator.SUBSIZED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+      }
+   }
+
+}
@@ -0,0 +1,598 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.LongFunction;
+
+/**
+ * Provides a compressed, read-mostly implementation of the Set interface
+ * for Integer or Long elements. The elements are kept in ascending order
+ * in blocks of at most MAX_BLOCK elements. The first element of each
+ * block is kept in a skip header array, and the rest are stored as
+ * varints of their differences from the element before them, so dense
+ * or clustered sets take one or two bytes per element instead of a node
+ * and a boxed value.
+ *
+ * <p>Blocks are decoded lazily: contains binary-searches the headers and
+ * decodes a single block, iteration decodes one varint per element, and
+ * add and remove decode and re-encode only the block they change.
+ * Elements are boxed only when they are returned by an iterator.
+ *
+ * @author Brian Betz (betzbri@auburn.edu
+ * @version 2016-03-13
+ *
+ */
+public class CompressedSortedSet<T extends Number & Comparable<? super T>> implements OrderedSet<T> {
+
+   /** The number of elements put in each block by a bulk load. */
+   static final int BLOCK = 128;
+
+   /** The most elements a block may hold before add splits it. */
+   static final int MAX_BLOCK = 2 * BLOCK;
+
+   /** The first element of each block. */
+   private long[] firsts;
+
+   /** The varint differences of the rest of each block's elements. */
+   private byte[][] deltas;
+
+   /** The number of elements in each block. */
+   private int[] lengths;
+
+   /** The number of blocks in use. */
+   private int blocks;
+
+   /** The number of elements in this set. */
+   private int size;
+
+   /** Converts a decoded element to the element type. */
+   private final LongFunction<T> box;
+
+   /**
+    * Instantiates an empty set whose elements are boxed by box.
+    */
+   private CompressedSortedSet(LongFunction<T> box) {
+      this.box = box;
+      firsts = new long[4];
+      deltas = new byte[4][];
+      lengths = new int[4];
+   }
+
+
+   /**
+    * Returns an empty CompressedSortedSet of Integers.
+    *
+    * @return an empty set of Integers
+    */
+   public static CompressedSortedSet<Integer> ofIntegers() {
+      return new CompressedSortedSet<Integer>(v -> (int) v);
+   }
+
+
+   /**
+    * Returns a CompressedSortedSet of the given Integers. The elements
+    * are sorted once and encoded in a single pass. Duplicates and nulls
+    * are ignored.
+    *
+    * @param  elements  the elements of the new set
+    * @return a compressed set of the given elements
+    */
+   public static CompressedSortedSet<Integer> ofIntegers(Iterable<Integer> elements) {
+      CompressedSortedSet<Integer> set = ofIntegers();
+      set.load(elements);
+      return set;
+   }
+
+
+   /**
+    * Returns an empty CompressedSortedSet of Longs.
+    *
+    * @return an empty set of Longs
+    */
+   public static CompressedSortedSet<Long> ofLongs() {
+      return new CompressedSortedSet<Long>(v -> v);
+   }
+
+
+   /**
+    * Returns a CompressedSortedSet of the given Longs. The elements are
+    * sorted once and encoded in a single pass. Duplicates and nulls are
+    * ignored.
+    *
+    * @param  elements  the elements of the new set
+    * @return a compressed set of the given elements
+    */
+   public static CompressedSortedSet<Long> ofLongs(Iterable<Long> elements) {
+      CompressedSortedSet<Long> set = ofLongs();
+      set.load(elements);
+      return set;
+   }
+
+
+   /**
+    * Returns the number of bytes used by the encoded elements and the
+    * block headers, not counting object headers.
+    *
+    * @return  the encoded size of this set in bytes
+    */
+   public long encodedBytes() {
+      long bytes = (long) blocks * (Long.BYTES + Integer.BYTES);
+      for (int b = 0; b < blocks; b++) {
+         bytes += deltas[b].length;
+      }
+      return bytes;
+   }
+
+
+   /**
+    * Return a string representation of this CompressedSortedSet.
+    *
+    * @return a string representation of this CompressedSortedSet
+    */
+   @Override
+   public String toString() {
+      if (isEmpty()) {
+         return "[]";
+      }
+      StringBuilder result = new StringBuilder();
+      result.append("[");
+      for (T element : this) {
+         result.append(element);
+         result.append(", ");
+      }
+      result.delete(result.length() - 2, result.length());
+      result.append("]");
+      return result.toString();
+   }
+
+
+   /**
+    * Returns the current size of this collection.
+    *
+    * @return  the number of elements in this collection.
+    */
+   public int size() {
+      return size;
+   }
+
+
+   /**
+    * Tests to see if this collection is empty.
+    *
+    * @return  true if this collection contains no elements, false otherwise.
+    */
+   public boolean isEmpty() {
+      return size == 0;
+   }
+
+
+   /**
+    * Ensures the collection contains the specified element. Neither
+    * duplicate nor null values are allowed. Only the block that holds
+    * the element is decoded and re-encoded; a block that grows past
+    * MAX_BLOCK elements is split in two.
+    *
+    * @param  element  The element whose presence is to be ensured.
+    * @return true if collection is changed, false otherwise.
+    */
+   public boolean add(T element) {
+      if (element == null) {
+         return false;
+      }
+      long v = element.longValue();
+      if (blocks == 0) {
+         insertBlock(0, new long[] {v}, 0, 1);
+         size++;
+         return true;
+      }
+
+      int b = Math.max(blockOf(v), 0);
+      long[] vals = decode(b, 1);
+      int n = lengths[b];
+      int i = search(vals, n, v);
+      if (i >= 0) {
+         return false;
+      }
+      i = -(i + 1);
+      System.arraycopy(vals, i, vals, i + 1, n - i);
+      vals[i] = v;
+      n++;
+      size++;
+
+      if (n <= MAX_BLOCK) {
+         encode(b, vals, 0, n);
+      }
+      else {
+         int half = n / 2;
+         encode(b, vals, 0, half);
+         insertBlock(b + 1, vals, half, n - half);
+      }
+      return true;
+   }
+
+
+   /**
+    * Ensures the collection does not contain the specified element.
+    * Only the block that held the element is re-encoded.
+    *
+    * @param   element  The element to be removed.
+    * @return  true if collection is changed, false otherwise.
+    */
+   public boolean remove(T element) {
+      if (element == null) {
+         return false;
+      }
+      long v = element.longValue();
+      int b = blockOf(v);
+      if (b < 0) {
+         return false;
+      }
+
+      long[] vals = decode(b, 0);
+      int n = lengths[b];
+      int i = search(vals, n, v);
+      if (i < 0) {
+         return false;
+      }
+      System.arraycopy(vals, i + 1, vals, i, n - i - 1);
+      n--;
+      size--;
+
+      if (n > 0) {
+         encode(b, vals, 0, n);
+      }
+      else {
+         System.arraycopy(firsts, b + 1, firsts, b, blocks - b - 1);
+         System.arraycopy(deltas, b + 1, deltas, b, blocks - b - 1);
+         System.arraycopy(lengths, b + 1, lengths, b, blocks - b - 1);
+         blocks--;
+         deltas[blocks] = null;
+      }
+      return true;
+   }
+
+
+   /**
+    * Searches for specified element in this collection by searching
+    * the block headers and decoding the one block that may hold it.
+    *
+    * @param   element  The element whose presence in this collection is to be tested.
+    * @return  true if this collection contains the specified element, false otherwise.
+    */
+   public boolean contains(T element) {
+      if (element == null) {
+         return false;
+      }
+      long v = element.longValue();
+      int b = blockOf(v);
+      if (b < 0) {
+         return false;
+      }
+
+      byte[] data = deltas[b];
+      long val = firsts[b];
+      int position = 0;
+      for (int i = 1; i < lengths[b] && val < v; i++) {
+         long delta = 0;
+         int shift = 0;
+         byte x;
+         do {
+            x = data[position++];
+            delta |= (long) (x & 0x7F) << shift;
+            shift += 7;
+         } while (x < 0);
+         val += delta;
+      }
+      return val == v;
+   }
+
+
+   /**
+    * Tests for equality between this set and the parameter set.
+    * Returns true if this set contains exactly the same elements
+    * as the parameter set, regardless of order.
+    *
+    * @return  true if this set contains exactly the same elements as
+    *               the parameter set, false otherwise
+    */
+   public boolean equals(Set<T> s) {
+      if (s == null || s.size() != size) {
+         return false;
+      }
+
+      for (T val : s) {
+         if (!contains(val)) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+
+   /**
+    * Returns a compressed set that is the union of this set and the
+    * parameter set, encoded in a single merge pass.
+    *
+    * @return  a set that contains all the elements of this set and the parameter set
+    */
+   public Set<T> union(Set<T> s) {
+      return from(unionView(s));
+   }
+
+
+   /**
+    * Returns a compressed set that is the intersection of this set and
+    * the parameter set, encoded in a single merge pass.
+    *
+    * @return  a set that contains elements that are in both this set and the parameter set
+    */
+   public Set<T> intersection(Set<T> s) {
+      return from(intersectionView(s));
+   }
+
+
+   /**
+    * Returns a compressed set that is the complement of this set and
+    * the parameter set, encoded in a single merge pass.
+    *
+    * @return  a set that contains elements that are in this set but not the parameter set
+    */
+   public Set<T> complement(Set<T> s) {
+      return from(complementView(s));
+   }
+
+
+   /**
+    * Returns an iterator that decodes the elements in ascending order.
+    *
+    * @return  an iterator over the elements in this set
+    */
+   public Iterator<T> iterator() {
+      return new BlockIterator();
+   }
+
+
+   /**
+    * Returns an iterator over the elements in descending order. Each
+    * block is decoded into a buffer and returned back to front.
+    *
+    * @return  an iterator over the elements in this set
+    */
+   public Iterator<T> descendingIterator() {
+      return new DescendingBlockIterator();
+   }
+
+
+   //////////////////////////////
+   // Private utility methods. //
+   //////////////////////////////
+
+   /**
+    * Replaces the contents of this empty set with the sorted, distinct
+    * elements, in blocks of BLOCK.
+    */
+   private void load(Iterable<? extends Number> elements) {
+      Object[] items = SortedArrays.toArray(elements);
+      int n = SortedArrays.sortDistinct(items);
+      long[] vals = new long[Math.min(n, BLOCK)];
+      for (int from = 0; from < n; from += BLOCK) {
+         int length = Math.min(BLOCK, n - from);
+         for (int i = 0; i < length; i++) {
+            vals[i] = ((Number) items[from + i]).longValue();
+         }
+         insertBlock(blocks, vals, 0, length);
+      }
+      size = n;
+   }
+
+   /**
+    * Returns a compressed set of the elements of an ascending view.
+    */
+   private CompressedSortedSet<T> from(SetView<T> view) {
+      CompressedSortedSet<T> result = new CompressedSortedSet<T>(box);
+      long[] vals = new long[BLOCK];
+      int length = 0;
+      for (T val : view) {
+         vals[length++] = val.longValue();
+         if (length == BLOCK) {
+            result.insertBlock(result.blocks, vals, 0, length);
+            result.size += length;
+            length = 0;
+         }
+      }
+      if (length > 0) {
+         result.insertBlock(result.blocks, vals, 0, length);
+         result.size += length;
+      }
+      return result;
+   }
+
+   /**
+    * Returns the last block whose first element is not greater than v,
+    * or -1 if v is less than every element.
+    */
+   private int blockOf(long v) {
+      int low = 0;
+      int high = blocks - 1;
+      while (low <= high) {
+         int mid = (low + high) >>> 1;
+         if (firsts[mid] <= v) {
+            low = mid + 1;
+         }
+         else {
+            high = mid - 1;
+         }
+      }
+      return high;
+   }
+
+   /**
+    * Returns the index of v among the first n values if it is present,
+    * otherwise -(insertion point) - 1.
+    */
+   private static int search(long[] vals, int n, long v) {
+      return Arrays.binarySearch(vals, 0, n, v);
+   }
+
+   /**
+    * Returns the elements of block b in an array with room for extra
+    * more.
+    */
+   private long[] decode(int b, int extra) {
+      long[] vals = new long[lengths[b] + extra];
+      decodeInto(b, vals);
+      return vals;
+   }
+
+   /**
+    * Decodes the elements of block b into the front of vals.
+    */
+   private void decodeInto(int b, long[] vals) {
+      byte[] data = deltas[b];
+      int position = 0;
+      vals[0] = firsts[b];
+      for (int i = 1; i < lengths[b]; i++) {
+         long delta = 0;
+         int shift = 0;
+         byte x;
+         do {
+            x = data[position++];
+            delta |= (long) (x & 0x7F) << shift;
+            shift += 7;
+         } while (x < 0);
+         vals[i] = vals[i - 1] + delta;
+      }
+   }
+
+   /**
+    * Encodes vals[from, from + n) as block b.
+    */
+   private void encode(int b, long[] vals, int from, int n) {
+      int bytes = 0;
+      for (int i = from + 1; i < from + n; i++) {
+         bytes += Math.max(1, (70 - Long.numberOfLeadingZeros(vals[i] - vals[i - 1])) / 7);
+      }
+      byte[] data = new byte[bytes];
+      int position = 0;
+      for (int i = from + 1; i < from + n; i++) {
+         long delta = vals[i] - vals[i - 1];
+         while ((delta & ~0x7FL) != 0) {
+            data[position++] = (byte) ((delta & 0x7F) | 0x80);
+            delta >>>= 7;
+         }
+         data[position++] = (byte) delta;
+      }
+      firsts[b] = vals[from];
+      deltas[b] = data;
+      lengths[b] = n;
+   }
+
+   /**
+    * Makes room for a new block at b and encodes vals[from, from + n)
+    * into it.
+    */
+   private void insertBlock(int b, long[] vals, int from, int n) {
+      if (blocks == firsts.length) {
+         int capacity = blocks * 2;
+         firsts = Arrays.copyOf(firsts, capacity);
+         deltas = Arrays.copyOf(deltas, capacity);
+         lengths = Arrays.copyOf(lengths, capacity);
+      }
+      System.arraycopy(firsts, b, firsts, b + 1, blocks - b);
+      System.arraycopy(deltas, b, deltas, b + 1, blocks - b);
+      System.arraycopy(lengths, b, lengths, b + 1, blocks - b);
+      blocks++;
+      encode(b, vals, from, n);
+   }
+
+
+   ////////////////////
+   // Nested classes //
+   ////////////////////
+
+   /**
+    * Decodes one varint per element, taking the first element of each
+    * block from its header.
+    */
+   private class BlockIterator implements Iterator<T> {
+      private int block;
+      private int index;
+      private int position;
+      private long val;
+
+      @Override
+      public boolean hasNext() {
+         return block < blocks;
+      }
+
+      @Override
+      public T next() {
+         if (!hasNext()) {
+            throw new NoSuchElementException();
+         }
+         if (index == 0) {
+            val = firsts[block];
+            position = 0;
+         }
+         else {
+            byte[] data = deltas[block];
+            long delta = 0;
+            int shift = 0;
+            byte x;
+            do {
+               x = data[position++];
+               delta |= (long) (x & 0x7F) << shift;
+               shift += 7;
+            } while (x < 0);
+            val += delta;
+         }
+         if (++index == lengths[block]) {
+            block++;
+            index = 0;
+         }
+         return box.apply(val);
+      }
+
+      public void remove() {
+         throw new UnsupportedOperationException();
+      }
+   }
+
+   /**
+    * Decodes each block, last block first, into a buffer that is then
+    * returned back to front.
+    */
+   private class DescendingBlockIterator implements Iterator<T> {
+      private long[] buffer;
+      private int block;
+      private int current;
+
+      public DescendingBlockIterator() {
+         buffer = new long[MAX_BLOCK];
+         block = blocks;
+         current = -1;
+      }
+
+      @Override
+      public boolean hasNext() {
+         return current >= 0 || block > 0;
+      }
+
+      @Override
+      public T next() {
+         if (!hasNext()) {
+            throw new NoSuchElementException();
+         }
+         if (current < 0) {
+            block--;
+            decodeInto(block, buffer);
+            current = lengths[block] - 1;
+         }
+         return box.apply(buffer[current--]);
+      }
+
+      public void remove() {
+         throw new UnsupportedOperationException();
+      }
+   }
+
+}
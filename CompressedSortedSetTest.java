@@ -0,0 +1,81 @@
+//@author Brian Betz
+
+import org.junit.Assert;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.Iterator;
+
+
+public class CompressedSortedSetTest {
+
+   private LinkedSet<Integer> expected;
+   private CompressedSortedSet<Integer> set;
+
+   /** Fixture initialization (common initialization
+    *  for all tests). **/
+   @Before public void setUp() {
+      expected = new LinkedSet<Integer>();
+      for (int i = 0; i < 1000; i++) {
+         expected.add(i * 3);
+      }
+      set = CompressedSortedSet.ofIntegers(expected);
+   }
+
+
+   @Test public void bulkLoadTest() {
+      Assert.assertEquals(1000, set.size());
+      Assert.assertTrue(set.equals(expected));
+      Assert.assertEquals(expected.toString(), set.toString());
+      Assert.assertTrue(set.contains(0));
+      Assert.assertTrue(set.contains(2997));
+      Assert.assertFalse(set.contains(1));
+      Assert.assertFalse(set.contains(-3));
+      Assert.assertFalse(set.contains(3000));
+      Assert.assertTrue(set.encodedBytes() < 2 * set.size());
+
+      Iterator<Integer> itr = set.descendingIterator();
+      Assert.assertEquals(2997, (int) itr.next());
+      Assert.assertEquals(2994, (int) itr.next());
+   }
+
+   @Test public void addRemoveTest() {
+      for (int i = 0; i < 3000; i += 2) {
+         Assert.assertEquals(expected.add(i), set.add(i));
+      }
+      for (int i = 0; i < 3000; i += 5) {
+         Assert.assertEquals(expected.remove(i), set.remove(i));
+      }
+      Assert.assertFalse(set.add(null));
+      Assert.assertFalse(set.remove(-1));
+      Assert.assertEquals(expected.size(), set.size());
+      Assert.assertEquals(expected.toString(), set.toString());
+
+      for (int i = 0; i < 3000; i++) {
+         set.remove(i);
+      }
+      Assert.assertTrue(set.isEmpty());
+      Assert.assertEquals("[]", set.toString());
+      Assert.assertTrue(set.add(-7));
+      Assert.assertEquals("[-7]", set.toString());
+   }
+
+   @Test public void longRangeTest() {
+      CompressedSortedSet<Long> longs = CompressedSortedSet.ofLongs();
+      longs.add(Long.MAX_VALUE);
+      longs.add(Long.MIN_VALUE);
+      longs.add(0L);
+      Assert.assertEquals("[" + Long.MIN_VALUE + ", 0, " + Long.MAX_VALUE + "]", longs.toString());
+      Assert.assertTrue(longs.contains(Long.MAX_VALUE));
+      Assert.assertFalse(longs.contains(1L));
+   }
+
+   @Test public void setOperationsTest() {
+      CompressedSortedSet<Integer> a = CompressedSortedSet.ofIntegers(LinkedSet.of(new Integer[] {1, 3, 5, 7}));
+      LinkedSet<Integer> b = LinkedSet.of(new Integer[] {3, 4, 7});
+      Assert.assertEquals("[1, 3, 4, 5, 7]", a.union(b).toString());
+      Assert.assertEquals("[3, 7]", a.intersection(b).toString());
+      Assert.assertEquals("[1, 5]", a.complement(b).toString());
+   }
+
+}
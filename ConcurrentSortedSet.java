@@ -0,0 +1,530 @@
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Provides a thread-safe implementation of the Set interface that
+ * keeps its elements in ascending natural order. A lazy skip list is
+ * used as the underlying data structure: add and remove lock only the
+ * predecessors of the affected node after an unlocked search, and a
+ * removed node is first marked and then unlinked. contains never locks
+ * or retries, so it is wait-free, and iterators are weakly consistent:
+ * they never fail, and they reflect some of the changes made after
+ * they were created.
+ *
+ * <p>union, intersection and complement operate on a weakly consistent
+ * snapshot of this set and return a LinkedSet.
+ *
+ * @author Brian Betz (betzbri@auburn.edu
+ * @version 2016-03-13
+ *
+ */
+public class ConcurrentSortedSet<T extends Comparable<? super T>> implements OrderedSet<T> {
+
+   /** The number of lanes in the skip list. */
+   static final int MAX_LEVEL = 32;
+
+   /** Sentinels before the first and after the last element. */
+   private final Node head;
+   private final Node tail;
+
+   /** The number of elements in this set. */
+   private final AtomicInteger size;
+
+   /**
+    * Instantiates an empty ConcurrentSortedSet.
+    */
+   public ConcurrentSortedSet() {
+      tail = new Node(null, MAX_LEVEL - 1);
+      head = new Node(null, MAX_LEVEL - 1);
+      for (int level = 0; level < MAX_LEVEL; level++) {
+         head.next.set(level, tail);
+      }
+      size = new AtomicInteger();
+   }
+
+
+   /**
+    * Return a string representation of this ConcurrentSortedSet.
+    *
+    * @return a string representation of this ConcurrentSortedSet
+    */
+   @Override
+   public String toString() {
+      StringBuilder result = new StringBuilder();
+      result.append("[");
+      for (T element : this) {
+         result.append(element);
+         result.append(", ");
+      }
+      if (result.length() > 1) {
+         result.delete(result.length() - 2, result.length());
+      }
+      result.append("]");
+      return result.toString();
+   }
+
+
+   /**
+    * Returns the current size of this collection.
+    *
+    * @return  the number of elements in this collection.
+    */
+   public int size() {
+      return size.get();
+   }
+
+
+   /**
+    * Tests to see if this collection is empty.
+    *
+    * @return  true if this collection contains no elements, false otherwise.
+    */
+   public boolean isEmpty() {
+      return size() == 0;
+   }
+
+
+   /**
+    * Ensures the collection contains the specified element. Neither
+    * duplicate nor null values are allowed.
+    *
+    * @param  element  The element whose presence is to be ensured.
+    * @return true if collection is changed, false otherwise.
+    */
+   public boolean add(T element) {
+      if (element == null) {
+         return false;
+      }
+
+      int topLevel = randomLevel();
+      Node[] preds = newLevels();
+      Node[] succs = newLevels();
+
+      while (true) {
+         int found = find(element, preds, succs);
+         if (found != -1) {
+            Node node = succs[found];
+            if (!node.marked) {
+               while (!node.fullyLinked) {
+                  Thread.onSpinWait();
+               }
+               return false;
+            }
+            continue;
+         }
+
+         int highestLocked = -1;
+         try {
+            boolean valid = true;
+            for (int level = 0; valid && level <= topLevel; level++) {
+               Node pred = preds[level];
+               Node succ = succs[level];
+               pred.lock.lock();
+               highestLocked = level;
+               valid = !pred.marked && !succ.marked && pred.next.get(level) == succ;
+            }
+            if (!valid) {
+               continue;
+            }
+
+            Node node = new Node(element, topLevel);
+            for (int level = 0; level <= topLevel; level++) {
+               node.next.set(level, succs[level]);
+            }
+            for (int level = 0; level <= topLevel; level++) {
+               preds[level].next.set(level, node);
+            }
+            node.fullyLinked = true;
+            size.incrementAndGet();
+            return true;
+         }
+         finally {
+            for (int level = 0; level <= highestLocked; level++) {
+               preds[level].lock.unlock();
+            }
+         }
+      }
+   }
+
+
+   /**
+    * Ensures the collection does not contain the specified element.
+    *
+    * @param   element  The element to be removed.
+    * @return  true if collection is changed, false otherwise.
+    */
+   public boolean remove(T element) {
+      if (element == null) {
+         return false;
+      }
+
+      Node[] preds = newLevels();
+      Node[] succs = newLevels();
+      Node victim = null;
+      boolean isMarked = false;
+      int topLevel = -1;
+
+      while (true) {
+         int found = find(element, preds, succs);
+         if (found != -1) {
+            victim = succs[found];
+         }
+         if (!isMarked && (found == -1 || !victim.fullyLinked
+               || victim.topLevel != found || victim.marked)) {
+            return false;
+         }
+
+         if (!isMarked) {
+            topLevel = victim.topLevel;
+            victim.lock.lock();
+            if (victim.marked) {
+               victim.lock.unlock();
+               return false;
+            }
+            victim.marked = true;
+            isMarked = true;
+         }
+
+         int highestLocked = -1;
+         try {
+            boolean valid = true;
+            for (int level = 0; valid && level <= topLevel; level++) {
+               Node pred = preds[level];
+               pred.lock.lock();
+               highestLocked = level;
+               valid = !pred.marked && pred.next.get(level) == victim;
+            }
+            if (!valid) {
+               continue;
+            }
+
+            for (int level = topLevel; level >= 0; level--) {
+               preds[level].next.set(level, victim.next.get(level));
+            }
+            victim.lock.unlock();
+            size.decrementAndGet();
+            return true;
+         }
+         finally {
+            for (int level = 0; level <= highestLocked; level++) {
+               preds[level].lock.unlock();
+            }
+         }
+      }
+   }
+
+
+   /**
+    * Ensures the collection contains only elements of the parameter.
+    * A weakly consistent pass over the skip list removes each element
+    * that the parameter lacks, so elements that are kept are never
+    * removed and readers always find them. Elements added concurrently
+    * may or may not be tested.
+    *
+    * @param  elements  The elements to be kept.
+    * @return true if collection is changed, false otherwise.
+    */
+   @SuppressWarnings("unchecked")
+   public boolean retainAll(Iterable<? extends T> elements) {
+      Set<T> keep = (elements instanceof Set) ? (Set<T>) elements : LinkedSet.of(elements);
+      boolean changed = false;
+      for (T val : this) {
+         if (!keep.contains(val)) {
+            changed |= remove(val);
+         }
+      }
+      return changed;
+   }
+
+
+   /**
+    * Searches for specified element in this collection. This method
+    * takes no locks and never retries.
+    *
+    * @param   element  The element whose presence in this collection is to be tested.
+    * @return  true if this collection contains the specified element, false otherwise.
+    */
+   public boolean contains(T element) {
+      if (element == null) {
+         return false;
+      }
+
+      Node pred = head;
+      for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+         Node curr = pred.next.get(level);
+         int c;
+         while ((c = compare(element, curr)) > 0) {
+            pred = curr;
+            curr = pred.next.get(level);
+         }
+         if (c == 0) {
+            return curr.fullyLinked && !curr.marked;
+         }
+      }
+      return false;
+   }
+
+
+   /**
+    * Tests for equality between this set and the parameter set.
+    * Returns true if this set contains exactly the same elements
+    * as the parameter set, regardless of order.
+    *
+    * @return  true if this set contains exactly the same elements as
+    *               the parameter set, false otherwise
+    */
+   public boolean equals(Set<T> s) {
+      if (s == null || s.size() != size()) {
+         return false;
+      }
+
+      for (T val : s) {
+         if (!contains(val)) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+
+   /**
+    * Returns a set that is the union of this set and the parameter set.
+    *
+    * @return  a set that contains all the elements of this set and the parameter set
+    */
+   public Set<T> union(Set<T> s) {
+      return LinkedSet.of(this).union(s);
+   }
+
+
+   /**
+    * Returns a set that is the intersection of this set and the parameter set.
+    *
+    * @return  a set that contains elements that are in both this set and the parameter set
+    */
+   public Set<T> intersection(Set<T> s) {
+      return LinkedSet.of(this).intersection(s);
+   }
+
+
+   /**
+    * Returns a set that is the complement of this set and the parameter set.
+    *
+    * @return  a set that contains elements that are in this set but not the parameter set
+    */
+   public Set<T> complement(Set<T> s) {
+      return LinkedSet.of(this).complement(s);
+   }
+
+
+   /**
+    * Returns a weakly consistent iterator over the elements in this
+    * set in ascending natural order.
+    *
+    * @return  an iterator over the elements in this set
+    */
+   public Iterator<T> iterator() {
+      return new AscendingIterator();
+   }
+
+
+   /**
+    * Returns a weakly consistent iterator over the elements in this
+    * set in descending natural order. Each step searches the skip
+    * list for the predecessor of the last element returned.
+    *
+    * @return  an iterator over the elements in this set
+    */
+   public Iterator<T> descendingIterator() {
+      return new DescendingIterator();
+   }
+
+
+   /**
+    * Returns a weakly consistent spliterator over the elements in
+    * this set. Its size is not reported, since it may change.
+    *
+    * @return  a spliterator over the elements in this set
+    */
+   public Spliterator<T> spliterator() {
+      return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.SORTED
+            | Spliterator.DISTINCT | Spliterator.ORDERED | Spliterator.NONNULL
+            | Spliterator.CONCURRENT);
+   }
+
+
+   //////////////////////////////
+   // Private utility methods. //
+   //////////////////////////////
+
+   /**
+    * Returns an empty array with a slot for each level.
+    */
+   @SuppressWarnings({"unchecked", "rawtypes"})
+   private Node[] newLevels() {
+      return (Node[]) new ConcurrentSortedSet.Node[MAX_LEVEL];
+   }
+
+   /**
+    * Compares element with the key of node, treating tail as greater
+    * than every element.
+    */
+   private int compare(T element, Node node) {
+      return (node == tail) ? -1 : element.compareTo(node.key);
+   }
+
+   /**
+    * Fills preds and succs with the nodes on either side of element
+    * in each lane, and returns the highest lane in which a node with
+    * element was found, or -1.
+    */
+   private int find(T element, Node[] preds, Node[] succs) {
+      int found = -1;
+      Node pred = head;
+      for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+         Node curr = pred.next.get(level);
+         while (compare(element, curr) > 0) {
+            pred = curr;
+            curr = pred.next.get(level);
+         }
+         if (found == -1 && compare(element, curr) == 0) {
+            found = level;
+         }
+         preds[level] = pred;
+         succs[level] = curr;
+      }
+      return found;
+   }
+
+   /**
+    * Returns the live node with the greatest element less than element,
+    * or less than every element if element is null, or null if there
+    * is none.
+    */
+   private Node lower(T element) {
+      while (true) {
+         Node pred = head;
+         for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+            Node curr = pred.next.get(level);
+            while (curr != tail && (element == null || element.compareTo(curr.key) > 0)) {
+               pred = curr;
+               curr = pred.next.get(level);
+            }
+         }
+         if (pred == head) {
+            return null;
+         }
+         if (pred.fullyLinked && !pred.marked) {
+            return pred;
+         }
+         element = pred.key;
+      }
+   }
+
+   /**
+    * Returns a random top lane, 0 with probability 1/2, 1 with
+    * probability 1/4, and so on.
+    */
+   private static int randomLevel() {
+      int r = ThreadLocalRandom.current().nextInt();
+      return Math.min(Integer.numberOfTrailingZeros(r), MAX_LEVEL - 1);
+   }
+
+
+   ////////////////////
+   // Nested classes //
+   ////////////////////
+
+   private class AscendingIterator implements Iterator<T> {
+      private Node next;
+
+      public AscendingIterator() {
+         next = skipDead(head.next.get(0));
+      }
+
+      private Node skipDead(Node node) {
+         while (node != tail && (node.marked || !node.fullyLinked)) {
+            node = node.next.get(0);
+         }
+         return node;
+      }
+
+      @Override
+      public boolean hasNext() {
+         return next != tail;
+      }
+
+      @Override
+      public T next() {
+         if (!hasNext()) {
+            throw new NoSuchElementException();
+         }
+         T item = next.key;
+         next = skipDead(next.next.get(0));
+         return item;
+      }
+
+      public void remove() {
+         throw new UnsupportedOperationException();
+      }
+   }
+
+   private class DescendingIterator implements Iterator<T> {
+      private Node next;
+
+      public DescendingIterator() {
+         next = lower(null);
+      }
+
+      @Override
+      public boolean hasNext() {
+         return next != null;
+      }
+
+      @Override
+      public T next() {
+         if (!hasNext()) {
+            throw new NoSuchElementException();
+         }
+         T item = next.key;
+         next = lower(item);
+         return item;
+      }
+
+      public void remove() {
+         throw new UnsupportedOperationException();
+      }
+   }
+
+   /**
+    * Defines a skip-list node present in lanes 0 through topLevel.
+    */
+   private class Node {
+      /** the value stored in this node. */
+      final T key;
+      /** the highest lane this node is linked into. */
+      final int topLevel;
+      /** the next node in each lane. */
+      final AtomicReferenceArray<Node> next;
+      /** guards changes to the links out of this node. */
+      final ReentrantLock lock;
+      /** set once this node is logically removed. */
+      volatile boolean marked;
+      /** set once this node is linked into every lane. */
+      volatile boolean fullyLinked;
+
+      Node(T key, int topLevel) {
+         this.key = key;
+         this.topLevel = topLevel;
+         next = new AtomicReferenceArray<Node>(topLevel + 1);
+         lock = new ReentrantLock();
+      }
+   }
+
+}
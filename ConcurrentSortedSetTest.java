@@ -0,0 +1,130 @@
+//@author Brian Betz
+
+import org.junit.Assert;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.Iterator;
+
+
+public class ConcurrentSortedSetTest {
+
+
+   /** Fixture initialization (common initialization
+    *  for all tests). **/
+   @Before public void setUp() {
+   }
+   
+   
+   @Test public void basicAddRemoveTest() {
+      Set<Integer> set = new ConcurrentSortedSet<Integer>();
+      set.add(4);
+      set.add(1);
+      set.add(5);
+      set.add(3);
+      set.add(1);
+      set.remove(5);
+      set.remove(7);
+      
+      Assert.assertEquals(3, set.size());
+      Assert.assertTrue(set.contains(3));
+      Assert.assertFalse(set.contains(5));
+      Assert.assertEquals("[1, 3, 4]", set.toString());
+      Assert.assertEquals("[3, 4]", set.complement(LinkedSet.of(new Integer[] {1})).toString());
+   }
+   
+   @Test public void descendingIteratorTest() {
+      ConcurrentSortedSet<Integer> set = new ConcurrentSortedSet<Integer>();
+      set.add(2);
+      set.add(3);
+      set.add(1);
+      
+      Iterator<Integer> itr = set.descendingIterator();
+      Assert.assertEquals(3, (int) itr.next());
+      Assert.assertEquals(2, (int) itr.next());
+      Assert.assertEquals(1, (int) itr.next());
+      Assert.assertFalse(itr.hasNext());
+   }
+   
+   @Test public void concurrentAddRemoveTest() throws InterruptedException {
+      final ConcurrentSortedSet<Integer> set = new ConcurrentSortedSet<Integer>();
+      Thread[] threads = new Thread[4];
+      
+      for (int t = 0; t < threads.length; t++) {
+         final int id = t;
+         threads[t] = new Thread(() -> {
+            for (int i = id; i < 20000; i += threads.length) {
+               set.add(i);
+            }
+            for (int i = id; i < 20000; i += threads.length) {
+               if (i % 2 == 1) {
+                  set.remove(i);
+               }
+            }
+         });
+         threads[t].start();
+      }
+      for (Thread thread : threads) {
+         thread.join();
+      }
+      
+      Assert.assertEquals(10000, set.size());
+      int expected = 0;
+      for (int val : set) {
+         Assert.assertEquals(expected, val);
+         expected += 2;
+      }
+      Assert.assertEquals(20000, expected);
+   }
+   
+   @Test public void setOperationsWhileGrowingTest() throws InterruptedException {
+      final ConcurrentSortedSet<Integer> set = new ConcurrentSortedSet<Integer>();
+      Thread writer = new Thread(() -> {
+         for (int i = 0; i < 200000; i++) {
+            set.add(i);
+         }
+      });
+      writer.start();
+      
+      LinkedSet<Integer> empty = new LinkedSet<Integer>();
+      while (writer.isAlive()) {
+         set.union(empty);
+         set.intersection(set);
+         set.complement(empty);
+         LinkedSet.of(set);
+      }
+      writer.join();
+      
+      Assert.assertEquals(200000, set.union(empty).size());
+   }
+   
+   @Test public void retainAllKeepsVisibleTest() throws InterruptedException {
+      final ConcurrentSortedSet<Integer> set = new ConcurrentSortedSet<Integer>();
+      java.util.List<Integer> all = new java.util.ArrayList<Integer>();
+      for (int i = 0; i < 1000; i++) {
+         set.add(i);
+         all.add(i);
+      }
+      final java.util.concurrent.atomic.AtomicInteger misses = new java.util.concurrent.atomic.AtomicInteger();
+      final java.util.concurrent.atomic.AtomicBoolean done = new java.util.concurrent.atomic.AtomicBoolean();
+      Thread reader = new Thread(() -> {
+         while (!done.get()) {
+            if (!set.contains(500)) {
+               misses.incrementAndGet();
+            }
+         }
+      });
+      reader.start();
+      
+      for (int round = 0; round < 200; round++) {
+         Assert.assertFalse(set.retainAll(all));
+      }
+      done.set(true);
+      reader.join();
+      
+      Assert.assertEquals(0, misses.get());
+      Assert.assertTrue(set.retainAll(all.subList(0, 10)));
+      Assert.assertEquals("[0, 1, 2, 3, 4, 5, 6, 7, 8, 9]", set.toString());
+   }
+   
+}
@@ -0,0 +1,454 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Provides a thread-safe implementation of the Set interface for
+ * read-mostly workloads. The elements are kept in a sorted array that
+ * is never modified once published. Every mutation copies the array,
+ * changes the copy, and publishes it with a single volatile write, so
+ * readers need one volatile read and then traverse the array without
+ * locks. snapshot() shares the current array and so runs in O(1), and
+ * union, intersection and complement always see one consistent version.
+ *
+ * @author Brian Betz (betzbri@auburn.edu
+ * @version 2016-03-13
+ *
+ */
+public class CopyOnWriteSortedSet<T extends Comparable<? super T>> implements OrderedSet<T> {
+
+   /** The published version, sorted and never modified. */
+   private volatile Object[] array;
+
+   /** Serializes writers. */
+   private final ReentrantLock lock;
+
+   /**
+    * Instantiates an empty CopyOnWriteSortedSet.
+    */
+   public CopyOnWriteSortedSet() {
+      this(new Object[0]);
+   }
+
+   /**
+    * Instantiates a set whose first version is array, which must be
+    * sorted, distinct, and never modified.
+    */
+   private CopyOnWriteSortedSet(Object[] array) {
+      this.array = array;
+      lock = new ReentrantLock();
+   }
+
+
+   /**
+    * Returns an independent set holding the current elements of this
+    * set. The two share the current array until either is changed.
+    *
+    * @return  a snapshot of this set
+    */
+   public CopyOnWriteSortedSet<T> snapshot() {
+      return new CopyOnWriteSortedSet<T>(array);
+   }
+
+
+   /**
+    * Return a string representation of this CopyOnWriteSortedSet.
+    *
+    * @return a string representation of this CopyOnWriteSortedSet
+    */
+   @Override
+   public String toString() {
+      return Arrays.toString(array);
+   }
+
+
+   /**
+    * Returns the current size of this collection.
+    *
+    * @return  the number of elements in this collection.
+    */
+   public int size() {
+      return array.length;
+   }
+
+
+   /**
+    * Tests to see if this collection is empty.
+    *
+    * @return  true if this collection contains no elements, false otherwise.
+    */
+   public boolean isEmpty() {
+      return array.length == 0;
+   }
+
+
+   /**
+    * Ensures the collection contains the specified element. Neither
+    * duplicate nor null values are allowed.
+    *
+    * @param  element  The element whose presence is to be ensured.
+    * @return true if collection is changed, false otherwise.
+    */
+   public boolean add(T element) {
+      if (element == null) {
+         return false;
+      }
+
+      lock.lock();
+      try {
+         Object[] current = array;
+         int i = Arrays.binarySearch(current, element);
+         if (i >= 0) {
+            return false;
+         }
+         i = -(i + 1);
+         Object[] next = new Object[current.length + 1];
+         System.arraycopy(current, 0, next, 0, i);
+         next[i] = element;
+         System.arraycopy(current, i, next, i + 1, current.length - i);
+         array = next;
+         return true;
+      }
+      finally {
+         lock.unlock();
+      }
+   }
+
+
+   /**
+    * Ensures the collection does not contain the specified element.
+    *
+    * @param   element  The element to be removed.
+    * @return  true if collection is changed, false otherwise.
+    */
+   public boolean remove(T element) {
+      if (element == null) {
+         return false;
+      }
+
+      lock.lock();
+      try {
+         Object[] current = array;
+         int i = Arrays.binarySearch(current, element);
+         if (i < 0) {
+            return false;
+         }
+         Object[] next = new Object[current.length - 1];
+         System.arraycopy(current, 0, next, 0, i);
+         System.arraycopy(current, i + 1, next, i, current.length - i - 1);
+         array = next;
+         return true;
+      }
+      finally {
+         lock.unlock();
+      }
+   }
+
+
+   /**
+    * Ensures the collection contains every element of the parameter,
+    * publishing one new version for the whole batch.
+    *
+    * @param  elements  The elements whose presence is to be ensured.
+    * @return true if collection is changed, false otherwise.
+    */
+   public boolean addAll(Iterable<? extends T> elements) {
+      Object[] batch = sortedArray(elements);
+      lock.lock();
+      try {
+         return publish(union(array, batch));
+      }
+      finally {
+         lock.unlock();
+      }
+   }
+
+
+   /**
+    * Ensures the collection contains none of the elements of the
+    * parameter, publishing one new version for the whole batch.
+    *
+    * @param  elements  The elements to be removed.
+    * @return true if collection is changed, false otherwise.
+    */
+   public boolean removeAll(Iterable<? extends T> elements) {
+      Object[] batch = sortedArray(elements);
+      lock.lock();
+      try {
+         return publish(complement(array, batch));
+      }
+      finally {
+         lock.unlock();
+      }
+   }
+
+
+   /**
+    * Ensures the collection contains only elements of the parameter,
+    * publishing one new version for the whole batch.
+    *
+    * @param  elements  The elements to be kept.
+    * @return true if collection is changed, false otherwise.
+    */
+   public boolean retainAll(Iterable<? extends T> elements) {
+      Object[] batch = sortedArray(elements);
+      lock.lock();
+      try {
+         return publish(intersection(array, batch));
+      }
+      finally {
+         lock.unlock();
+      }
+   }
+
+
+   /**
+    * Searches for specified element in this collection.
+    *
+    * @param   element  The element whose presence in this collection is to be tested.
+    * @return  true if this collection contains the specified element, false otherwise.
+    */
+   public boolean contains(T element) {
+      return element != null && Arrays.binarySearch(array, element) >= 0;
+   }
+
+
+   /**
+    * Tests for equality between this set and the parameter set.
+    * Returns true if this set contains exactly the same elements
+    * as the parameter set, regardless of order.
+    *
+    * @return  true if this set contains exactly the same elements as
+    *               the parameter set, false otherwise
+    */
+   public boolean equals(Set<T> s) {
+      Object[] current = array;
+      if (s == null || s.size() != current.length) {
+         return false;
+      }
+
+      for (T val : s) {
+         if (val == null || Arrays.binarySearch(current, val) < 0) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+
+   /**
+    * Returns a set that is the union of this set and the parameter set.
+    *
+    * @return  a set that contains all the elements of this set and the parameter set
+    */
+   public Set<T> union(Set<T> s) {
+      return new CopyOnWriteSortedSet<T>(union(array, sortedArray(s)));
+   }
+
+
+   /**
+    * Returns a set that is the intersection of this set and the parameter set.
+    *
+    * @return  a set that contains elements that are in both this set and the parameter set
+    */
+   public Set<T> intersection(Set<T> s) {
+      return new CopyOnWriteSortedSet<T>(intersection(array, sortedArray(s)));
+   }
+
+
+   /**
+    * Returns a set that is the complement of this set and the parameter set.
+    *
+    * @return  a set that contains elements that are in this set but not the parameter set
+    */
+   public Set<T> complement(Set<T> s) {
+      return new CopyOnWriteSortedSet<T>(complement(array, sortedArray(s)));
+   }
+
+
+   /**
+    * Returns an iterator over the version of this set current when
+    * the iterator is created, in ascending natural order.
+    *
+    * @return  an iterator over the elements in this set
+    */
+   public Iterator<T> iterator() {
+      return new SnapshotIterator(array, true);
+   }
+
+
+   /**
+    * Returns an iterator over the version of this set current when
+    * the iterator is created, in descending natural order.
+    *
+    * @return  an iterator over the elements in this set
+    */
+   public Iterator<T> descendingIterator() {
+      return new SnapshotIterator(array, false);
+   }
+
+
+   /**
+    * Returns a spliterator over the version of this set current when
+    * the spliterator is created.
+    *
+    * @return  a spliterator over the elements in this set
+    */
+   public Spliterator<T> spliterator() {
+      return Spliterators.spliterator(array, Spliterator.SORTED | Spliterator.DISTINCT
+            | Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+   }
+
+
+   //////////////////////////////
+   // Private utility methods. //
+   //////////////////////////////
+
+   /**
+    * Publishes next if it differs in size from the current version.
+    * Callers hold the lock.
+    */
+   private boolean publish(Object[] next) {
+      if (next.length == array.length) {
+         return false;
+      }
+      array = next;
+      return true;
+   }
+
+   /**
+    * Returns the distinct elements of elements as a sorted array.
+    */
+   private static Object[] sortedArray(Iterable<?> elements) {
+      if (elements instanceof CopyOnWriteSortedSet) {
+         return ((CopyOnWriteSortedSet<?>) elements).array;
+      }
+      Object[] items = SortedArrays.toArray(elements);
+      return Arrays.copyOf(items, SortedArrays.sortDistinct(items));
+   }
+
+   /**
+    * Returns the merged union of two sorted, distinct arrays.
+    */
+   @SuppressWarnings({"unchecked", "rawtypes"})
+   private static Object[] union(Object[] a, Object[] b) {
+      Object[] out = new Object[a.length + b.length];
+      int n = 0;
+      int i = 0;
+      int j = 0;
+      while (i < a.length && j < b.length) {
+         int c = ((Comparable) a[i]).compareTo(b[j]);
+         if (c < 0) {
+            out[n++] = a[i++];
+         }
+         else if (c > 0) {
+            out[n++] = b[j++];
+         }
+         else {
+            out[n++] = a[i++];
+            j++;
+         }
+      }
+      while (i < a.length) {
+         out[n++] = a[i++];
+      }
+      while (j < b.length) {
+         out[n++] = b[j++];
+      }
+      return (n == out.length) ? out : Arrays.copyOf(out, n);
+   }
+
+   /**
+    * Returns the merged intersection of two sorted, distinct arrays.
+    */
+   @SuppressWarnings({"unchecked", "rawtypes"})
+   private static Object[] intersection(Object[] a, Object[] b) {
+      Object[] out = new Object[Math.min(a.length, b.length)];
+      int n = 0;
+      int i = 0;
+      int j = 0;
+      while (i < a.length && j < b.length) {
+         int c = ((Comparable) a[i]).compareTo(b[j]);
+         if (c < 0) {
+            i++;
+         }
+         else if (c > 0) {
+            j++;
+         }
+         else {
+            out[n++] = a[i++];
+            j++;
+         }
+      }
+      return (n == out.length) ? out : Arrays.copyOf(out, n);
+   }
+
+   /**
+    * Returns the elements of sorted array a that are not in sorted array b.
+    */
+   @SuppressWarnings({"unchecked", "rawtypes"})
+   private static Object[] complement(Object[] a, Object[] b) {
+      Object[] out = new Object[a.length];
+      int n = 0;
+      int i = 0;
+      int j = 0;
+      while (i < a.length && j < b.length) {
+         int c = ((Comparable) a[i]).compareTo(b[j]);
+         if (c < 0) {
+            out[n++] = a[i++];
+         }
+         else if (c > 0) {
+            j++;
+         }
+         else {
+            i++;
+            j++;
+         }
+      }
+      while (i < a.length) {
+         out[n++] = a[i++];
+      }
+      return (n == out.length) ? out : Arrays.copyOf(out, n);
+   }
+
+
+   ////////////////////
+   // Nested classes //
+   ////////////////////
+
+   private class SnapshotIterator implements Iterator<T> {
+      private Object[] elements;
+      private int current;
+      private int step;
+
+      public SnapshotIterator(Object[] elements, boolean ascending) {
+         this.elements = elements;
+         current = ascending ? 0 : elements.length - 1;
+         step = ascending ? 1 : -1;
+      }
+
+      @Override
+      public boolean hasNext() {
+         return current >= 0 && current < elements.length;
+      }
+
+      @Override
+      @SuppressWarnings("unchecked")
+      public T next() {
+         if (!hasNext()) {
+            throw new NoSuchElementException();
+         }
+         T item = (T) elements[current];
+         current += step;
+         return item;
+      }
+
+      public void remove() {
+         throw new UnsupportedOperationException();
+      }
+   }
+
+}
@@ -0,0 +1,73 @@
+//@author Brian Betz
+
+import org.junit.Assert;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.Iterator;
+
+
+public class CopyOnWriteSortedSetTest {
+
+
+   /** Fixture initialization (common initialization
+    *  for all tests). **/
+   @Before public void setUp() {
+   }
+   
+   
+   @Test public void basicAddRemoveTest() {
+      Set<Integer> set = new CopyOnWriteSortedSet<Integer>();
+      set.add(4);
+      set.add(1);
+      set.add(5);
+      set.add(3);
+      set.add(1);
+      set.remove(5);
+      set.remove(7);
+      
+      Assert.assertEquals(3, set.size());
+      Assert.assertTrue(set.contains(3));
+      Assert.assertFalse(set.contains(5));
+      Assert.assertEquals("[1, 3, 4]", set.toString());
+   }
+   
+   @Test public void snapshotTest() {
+      CopyOnWriteSortedSet<Integer> set = new CopyOnWriteSortedSet<Integer>();
+      set.add(1);
+      set.add(2);
+      
+      CopyOnWriteSortedSet<Integer> snapshot = set.snapshot();
+      Iterator<Integer> itr = set.iterator();
+      set.add(3);
+      set.remove(1);
+      
+      Assert.assertEquals("[1, 2]", snapshot.toString());
+      Assert.assertEquals("[2, 3]", set.toString());
+      Assert.assertEquals(1, (int) itr.next());
+      Assert.assertEquals(2, (int) itr.next());
+      Assert.assertFalse(itr.hasNext());
+      
+      snapshot.add(0);
+      Assert.assertEquals("[0, 1, 2]", snapshot.toString());
+      Assert.assertEquals("[2, 3]", set.toString());
+   }
+   
+   @Test public void setOperationsTest() {
+      CopyOnWriteSortedSet<Integer> set = new CopyOnWriteSortedSet<Integer>();
+      Set<Integer> set1 = new LinkedSet<Integer>();
+      
+      set.addAll(java.util.Arrays.asList(9, 1, 5, 3));
+      set1.add(2);
+      set1.add(3);
+      set1.add(9);
+      set1.add(10);
+      
+      Assert.assertEquals("[1, 2, 3, 5, 9, 10]", set.union(set1).toString());
+      Assert.assertEquals("[3, 9]", set.intersection(set1).toString());
+      Assert.assertEquals("[1, 5]", set.complement(set1).toString());
+      Assert.assertTrue(set.retainAll(set1));
+      Assert.assertEquals("[3, 9]", set.toString());
+   }
+   
+}
@@ -0,0 +1,59 @@
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+/**
+ * Releases direct and memory-mapped buffers when their owner is closed
+ * rather than when the garbage collector gets to them.
+ *
+ * @author Brian Betz (betzbri@auburn.edu
+ * @version 2016-03-13
+ *
+ */
+final class DirectMemory {
+
+   /** sun.misc.Unsafe.invokeCleaner and its receiver, or null if unavailable. */
+   private static final Object UNSAFE;
+   private static final Method CLEANER;
+
+   static {
+      Object unsafe = null;
+      Method cleaner = null;
+      try {
+         Class<?> type = Class.forName("sun.misc.Unsafe");
+         Field field = type.getDeclaredField("theUnsafe");
+         field.setAccessible(true);
+         unsafe = field.get(null);
+         cleaner = type.getMethod("invokeCleaner", ByteBuffer.class);
+      }
+      catch (ReflectiveOperationException | RuntimeException e) {
+         unsafe = null;
+         cleaner = null;
+      }
+      UNSAFE = unsafe;
+      CLEANER = cleaner;
+   }
+
+   private DirectMemory() {
+   }
+
+   /**
+    * Releases the memory or mapping of a direct buffer now, if the
+    * runtime allows it, instead of when the buffer is collected. The
+    * buffer must not be used afterward.
+    *
+    * @param  buffer  a direct buffer that is not a slice or duplicate
+    */
+   static void free(ByteBuffer buffer) {
+      if (CLEANER == null || !buffer.isDirect()) {
+         return;
+      }
+      try {
+         CLEANER.invoke(UNSAFE, buffer);
+      }
+      catch (ReflectiveOperationException | RuntimeException e) {
+         // The buffer is released when it is collected instead.
+      }
+   }
+
+}
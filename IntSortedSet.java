@@ -0,0 +1,314 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Provides a sorted set of int values with the same operations as
+ * the Set interface. A sorted int array is used as the underlying
+ * data structure, so no element is ever boxed and no object is
+ * allocated per element. Elements are kept in ascending order.
+ *
+ * @author Brian Betz (betzbri@auburn.edu
+ * @version 2016-03-13
+ *
+ */
+public class IntSortedSet {
+
+   /** The default capacity of the underlying array. */
+   private static final int DEFAULT_CAPACITY = 8;
+
+   /** The elements of this set in ascending order. */
+   int[] elements;
+
+   /** The number of elements in this set. */
+   int size;
+
+   /**
+    * Instantiates an empty IntSortedSet.
+    */
+   public IntSortedSet() {
+      this(DEFAULT_CAPACITY);
+   }
+
+   /**
+    * Instantiates an empty IntSortedSet with room for capacity
+    * elements before the array must grow.
+    *
+    * @param  capacity  the initial capacity of the array
+    */
+   public IntSortedSet(int capacity) {
+      elements = new int[Math.max(capacity, 1)];
+      size = 0;
+   }
+
+
+   /**
+    * Return a string representation of this IntSortedSet.
+    *
+    * @return a string representation of this IntSortedSet
+    */
+   @Override
+   public String toString() {
+      if (isEmpty()) {
+         return "[]";
+      }
+      StringBuilder result = new StringBuilder();
+      result.append("[");
+      for (int i = 0; i < size; i++) {
+         result.append(elements[i]);
+         result.append(", ");
+      }
+      result.delete(result.length() - 2, result.length());
+      result.append("]");
+      return result.toString();
+   }
+
+
+   /**
+    * Returns the current size of this collection.
+    *
+    * @return  the number of elements in this collection.
+    */
+   public int size() {
+      return size;
+   }
+
+
+   /**
+    * Tests to see if this collection is empty.
+    *
+    * @return  true if this collection contains no elements, false otherwise.
+    */
+   public boolean isEmpty() {
+      return (size == 0);
+   }
+
+
+   /**
+    * Ensures the collection contains the specified element.
+    *
+    * @param  element  The element whose presence is to be ensured.
+    * @return true if collection is changed, false otherwise.
+    */
+   public boolean add(int element) {
+      int i = Arrays.binarySearch(elements, 0, size, element);
+      if (i >= 0) {
+         return false;
+      }
+
+      i = -(i + 1);
+      if (size == elements.length) {
+         elements = Arrays.copyOf(elements, size * 2);
+      }
+      System.arraycopy(elements, i, elements, i + 1, size - i);
+      elements[i] = element;
+      size++;
+      return true;
+   }
+
+
+   /**
+    * Ensures the collection does not contain the specified element.
+    *
+    * @param   element  The element to be removed.
+    * @return  true if collection is changed, false otherwise.
+    */
+   public boolean remove(int element) {
+      int i = Arrays.binarySearch(elements, 0, size, element);
+      if (i < 0) {
+         return false;
+      }
+
+      System.arraycopy(elements, i + 1, elements, i, size - i - 1);
+      size--;
+      return true;
+   }
+
+
+   /**
+    * Searches for specified element in this collection.
+    *
+    * @param   element  The element whose presence in this collection is to be tested.
+    * @return  true if this collection contains the specified element, false otherwise.
+    */
+   public boolean contains(int element) {
+      return Arrays.binarySearch(elements, 0, size, element) >= 0;
+   }
+
+
+   /**
+    * Tests for equality between this set and the parameter set.
+    *
+    * @return  true if this set contains exactly the same elements as
+    *               the parameter set, false otherwise
+    */
+   public boolean equals(IntSortedSet s) {
+      return s != null && Arrays.equals(elements, 0, size, s.elements, 0, s.size);
+   }
+
+
+   /**
+    * Returns a set that is the union of this set and the parameter set.
+    *
+    * @return  a set that contains all the elements of this set and the parameter set
+    */
+   public IntSortedSet union(IntSortedSet s) {
+      IntSortedSet uSet = new IntSortedSet(size + s.size);
+      int[] out = uSet.elements;
+      int n = 0;
+      int i = 0;
+      int j = 0;
+
+      while (i < size && j < s.size) {
+         int a = elements[i];
+         int b = s.elements[j];
+         if (a < b) {
+            out[n++] = a;
+            i++;
+         }
+         else if (a > b) {
+            out[n++] = b;
+            j++;
+         }
+         else {
+            out[n++] = a;
+            i++;
+            j++;
+         }
+      }
+
+      System.arraycopy(elements, i, out, n, size - i);
+      n += size - i;
+      System.arraycopy(s.elements, j, out, n, s.size - j);
+      n += s.size - j;
+      uSet.size = n;
+      return uSet;
+   }
+
+
+   /**
+    * Returns a set that is the intersection of this set and the parameter set.
+    *
+    * @return  a set that contains elements that are in both this set and the parameter set
+    */
+   public IntSortedSet intersection(IntSortedSet s) {
+      IntSortedSet iSet = new IntSortedSet(Math.min(size, s.size));
+      int[] out = iSet.elements;
+      int n = 0;
+      int i = 0;
+      int j = 0;
+
+      while (i < size && j < s.size) {
+         int a = elements[i];
+         int b = s.elements[j];
+         if (a < b) {
+            i++;
+         }
+         else if (a > b) {
+            j++;
+         }
+         else {
+            out[n++] = a;
+            i++;
+            j++;
+         }
+      }
+
+      iSet.size = n;
+      return iSet;
+   }
+
+
+   /**
+    * Returns a set that is the complement of this set and the parameter set.
+    *
+    * @return  a set that contains elements that are in this set but not the parameter set
+    */
+   public IntSortedSet complement(IntSortedSet s) {
+      IntSortedSet cSet = new IntSortedSet(size);
+      int[] out = cSet.elements;
+      int n = 0;
+      int i = 0;
+      int j = 0;
+
+      while (i < size && j < s.size) {
+         int a = elements[i];
+         int b = s.elements[j];
+         if (a < b) {
+            out[n++] = a;
+            i++;
+         }
+         else if (a > b) {
+            j++;
+         }
+         else {
+            i++;
+            j++;
+         }
+      }
+
+      System.arraycopy(elements, i, out, n, size - i);
+      n += size - i;
+      cSet.size = n;
+      return cSet;
+   }
+
+
+   /**
+    * Returns an iterator over the elements in this IntSortedSet.
+    * Elements are returned in ascending order. Use nextInt to
+    * avoid boxing.
+    *
+    * @return  an iterator over the elements in this IntSortedSet
+    */
+   public PrimitiveIterator.OfInt iterator() {
+      return new IntIterator(0, 1);
+   }
+
+
+   /**
+    * Returns an iterator over the elements in this IntSortedSet.
+    * Elements are returned in descending order. Use nextInt to
+    * avoid boxing.
+    *
+    * @return  an iterator over the elements in this IntSortedSet
+    */
+   public PrimitiveIterator.OfInt descendingIterator() {
+      return new IntIterator(size - 1, -1);
+   }
+
+
+   ////////////////////
+   // Nested classes //
+   ////////////////////
+
+   private class IntIterator implements PrimitiveIterator.OfInt {
+      private int current;
+      private int step;
+
+      public IntIterator(int start, int step) {
+         current = start;
+         this.step = step;
+      }
+
+      @Override
+      public boolean hasNext() {
+         return current >= 0 && current < size;
+      }
+
+      @Override
+      public int nextInt() {
+         if (!hasNext()) {
+            throw new NoSuchElementException();
+         }
+         int item = elements[current];
+         current += step;
+         return item;
+      }
+
+      public void remove() {
+         throw new UnsupportedOperationException();
+      }
+   }
+
+}
@@ -0,0 +1,82 @@
+//@author Brian Betz
+
+import org.junit.Assert;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.PrimitiveIterator;
+
+
+public class IntSortedSetTest {
+
+
+   /** Fixture initialization (common initialization
+    *  for all tests). **/
+   @Before public void setUp() {
+   }
+   
+   
+   @Test public void basicAddRemoveTest() {
+      IntSortedSet set = new IntSortedSet(2);
+      set.add(4);
+      set.add(-1);
+      set.add(5);
+      set.add(3);
+      set.add(-1);
+      set.remove(5);
+      set.remove(7);
+      
+      Assert.assertEquals(3, set.size());
+      Assert.assertTrue(set.contains(3));
+      Assert.assertFalse(set.contains(5));
+      Assert.assertEquals("[-1, 3, 4]", set.toString());
+   }
+   
+   @Test public void unionIntersectionComplementTest() {
+      IntSortedSet set = new IntSortedSet();
+      IntSortedSet set1 = new IntSortedSet();
+      
+      set.add(1);
+      set.add(3);
+      set.add(5);
+      set.add(9);
+      
+      set1.add(2);
+      set1.add(3);
+      set1.add(9);
+      set1.add(10);
+      
+      Assert.assertEquals("[1, 2, 3, 5, 9, 10]", set.union(set1).toString());
+      Assert.assertEquals("[3, 9]", set.intersection(set1).toString());
+      Assert.assertEquals("[1, 5]", set.complement(set1).toString());
+      Assert.assertTrue(set.union(set1).complement(set1).equals(set.complement(set1)));
+   }
+   
+   @Test public void descendingIteratorTest() {
+      IntSortedSet set = new IntSortedSet();
+      set.add(2);
+      set.add(3);
+      set.add(1);
+      
+      PrimitiveIterator.OfInt itr = set.descendingIterator();
+      Assert.assertEquals(3, itr.nextInt());
+      Assert.assertEquals(2, itr.nextInt());
+      Assert.assertEquals(1, itr.nextInt());
+      Assert.assertFalse(itr.hasNext());
+   }
+   
+   @Test public void longSetTest() {
+      LongSortedSet set = new LongSortedSet();
+      LongSortedSet set1 = new LongSortedSet();
+      
+      set.add(1L << 40);
+      set.add(7L);
+      set1.add(7L);
+      set1.add(-(1L << 40));
+      
+      Assert.assertEquals("[-1099511627776, 7, 1099511627776]", set.union(set1).toString());
+      Assert.assertEquals("[7]", set.intersection(set1).toString());
+      Assert.assertEquals(1L << 40, set.descendingIterator().nextLong());
+   }
+   
+}
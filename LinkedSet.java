@@ -1,5 +1,18 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Provides an implementation of the Set interface.
@@ -13,7 +26,7 @@ import java.util.NoSuchElementException;
  * @version 2016-03-13
  *
  */
-public class LinkedSet<T extends Comparable<? super T>> implements Set<T> {
+public class LinkedSet<T extends Comparable<? super T>> implements OrderedSet<T> {
 
    //////////////////////////////////////////////////////////
    // Do not change the following three fields in any way. //
@@ -26,6 +39,31 @@ public class LinkedSet<T extends Comparable<? super T>> implements Set<T> {
    /** The number of nodes in the list. */
    int size;
 
+   /** The node found by the last search, where the next search starts. */
+   private Node finger;
+
+   /** The top lane of the optional skip-list index, or null if unindexed. */
+   private Index head;
+
+   /** The number of index lanes above the node list. */
+   private int levels;
+
+   /** The source of index heights for an indexed set. */
+   private Random random;
+
+   /** Removed nodes kept for reuse, linked through next. */
+   private Node pool;
+
+   /** Removed index entries kept for reuse, linked through right. */
+   private Index indexPool;
+
+   /** The number of nodes and of index entries in the pools. */
+   private int pooled;
+   private int indexPooled;
+
+   /** The most nodes, and the most index entries, kept for reuse. */
+   private int poolCapacity;
+
    /////////////////////////////////////////////////////////
    // Do not change the following constructor in any way. //
    /////////////////////////////////////////////////////////
@@ -39,6 +77,158 @@ public class LinkedSet<T extends Comparable<? super T>> implements Set<T> {
       size = 0;
    }
 
+   /**
+    * Instantiates an empty LinkedSet. If indexed is true, a skip-list
+    * index is kept over the node list so that add, remove, and contains
+    * run in expected O(log n) time.
+    *
+    * @param  indexed  whether to maintain a skip-list index
+    */
+   public LinkedSet(boolean indexed) {
+      this();
+      if (indexed) {
+         head = new Index(null, null, null);
+         levels = 1;
+         random = new Random();
+      }
+   }
+
+
+   /**
+    * Instantiates an empty LinkedSet that keeps up to poolCapacity
+    * removed nodes, and as many removed index entries, for reuse by
+    * later additions. Once a set that churns has filled its pool, add
+    * and remove allocate nothing as long as its size stays within
+    * poolCapacity of its largest size. Since index entries are given
+    * random heights, an indexed set needs a pool of a few hundred for
+    * their number to stay within it.
+    *
+    * @param  indexed       whether to maintain a skip-list index
+    * @param  poolCapacity  the most nodes kept for reuse
+    * @throws IllegalArgumentException if poolCapacity is negative
+    */
+   public LinkedSet(boolean indexed, int poolCapacity) {
+      this(indexed);
+      if (poolCapacity < 0) {
+         throw new IllegalArgumentException("poolCapacity must not be negative: " + poolCapacity);
+      }
+      this.poolCapacity = poolCapacity;
+   }
+
+
+   /**
+    * Returns a LinkedSet of the given elements. The elements are sorted
+    * once, unless they are already in ascending order, and the node list
+    * is linked in a single pass, so this runs in O(n log n) rather than
+    * the O(n^2) of n calls to add. Duplicates and nulls are ignored.
+    *
+    * @param  elements  the elements of the new set
+    * @return a LinkedSet containing the given elements
+    */
+   public static <T extends Comparable<? super T>> LinkedSet<T> of(T[] elements) {
+      return build(elements.clone());
+   }
+
+   /**
+    * Returns a LinkedSet of the given elements in O(n log n) time.
+    * Duplicates and nulls are ignored.
+    *
+    * @param  elements  the elements of the new set
+    * @return a LinkedSet containing the given elements
+    */
+   public static <T extends Comparable<? super T>> LinkedSet<T> of(Iterable<? extends T> elements) {
+      return build(SortedArrays.toArray(elements));
+   }
+
+   /**
+    * Returns a LinkedSet of the elements of the given stream in
+    * O(n log n) time. Duplicates and nulls are ignored.
+    *
+    * @param  elements  the elements of the new set
+    * @return a LinkedSet containing the given elements
+    */
+   public static <T extends Comparable<? super T>> LinkedSet<T> of(Stream<? extends T> elements) {
+      return build(elements.toArray());
+   }
+
+
+   /**
+    * Returns the union of every set in sets. The sets are merged in a
+    * single pass that keeps the smallest unconsumed element of each set
+    * in a heap, so this runs in O(N log k) for N elements in k sets and
+    * links each element of the result once. Sets that are not ordered
+    * are sorted first.
+    *
+    * @param  sets  the sets to combine
+    * @return a LinkedSet of the elements found in any of the sets
+    */
+   public static <T extends Comparable<? super T>> LinkedSet<T> unionAll(Collection<? extends Set<T>> sets) {
+      PriorityQueue<Head<T>> heap = new PriorityQueue<Head<T>>(Math.max(1, sets.size()));
+      for (Set<T> s : sets) {
+         Iterator<T> rest = ascending(s);
+         if (rest.hasNext()) {
+            heap.add(new Head<T>(rest.next(), rest));
+         }
+      }
+      
+      LinkedSet<T> result = new LinkedSet<T>();
+      while (!heap.isEmpty()) {
+         Head<T> h = heap.poll();
+         if (result.rear == null || result.rear.element.compareTo(h.element) < 0) {
+            result.linkLast(h.element);
+         }
+         if (h.rest.hasNext()) {
+            h.element = h.rest.next();
+            heap.add(h);
+         }
+      }
+      return result;
+   }
+
+   /**
+    * Returns the intersection of every set in sets, or an empty set if
+    * there are none. The smallest set is walked once and each of its
+    * elements is sought in the other sets, smallest first, stopping at
+    * the first set that lacks it. A LinkedSet is searched through its
+    * index, or from its finger if it has none; any other set is searched
+    * by galloping through a sorted array, so m seeks into n elements cost
+    * O(m log(n / m)).
+    *
+    * @param  sets  the sets to intersect
+    * @return a LinkedSet of the elements found in all of the sets
+    */
+   @SuppressWarnings({"unchecked", "rawtypes"})
+   public static <T extends Comparable<? super T>> LinkedSet<T> intersectAll(Collection<? extends Set<T>> sets) {
+      LinkedSet<T> result = new LinkedSet<T>();
+      if (sets.isEmpty()) {
+         return result;
+      }
+      
+      List<Set<T>> bySize = new ArrayList<Set<T>>(sets);
+      bySize.sort(Comparator.comparingInt(Set::size));
+      if (bySize.get(0).isEmpty()) {
+         return result;
+      }
+      
+      Seeker<T>[] others = (Seeker<T>[]) new Seeker[bySize.size() - 1];
+      for (int i = 0; i < others.length; i++) {
+         others[i] = new Seeker<T>(bySize.get(i + 1));
+      }
+      
+      Iterator<T> candidates = ascending(bySize.get(0));
+      next:
+      while (candidates.hasNext()) {
+         T val = candidates.next();
+         for (Seeker<T> other : others) {
+            if (!other.seek(val)) {
+               continue next;
+            }
+         }
+         result.linkLast(val);
+      }
+      return result;
+   }
+
 
    //////////////////////////////////////////////////
    // Public interface and class-specific methods. //
@@ -103,51 +293,22 @@ public class LinkedSet<T extends Comparable<? super T>> implements Set<T> {
     */
    public boolean add(T element) {
    
-      if (element == null || contains(element)) {
+      if (element == null) {
          return false;
       }
       
-      Node node = new Node(element);
-      
-      if (size == 0) {
-         front = node;
-         rear = front;
-         front.prev = null;
-         size++;
-         return true;
-      }
+      Node n = ceilingNode(element);
       
-      else if (element.compareTo(rear.element) > 0) {
-         Node n = rear;
-         rear.next = node;
-         rear = node;
-         rear.prev = n;
-         size++;
-         return true;
+      if (n != null && n.element.compareTo(element) == 0) {
+         return false;
       }
       
-      else if (element.compareTo(front.element) < 0) {
-         node.next = front;
-         front.prev = node;
-         front = node;
-         size++;
-         return true;
-      } 
-      
-      else {
-         Node n = front;
-      
-         while (element.compareTo(n.element) > 0) {
-            n = n.next;
-         }
-      
-         n.prev.next = node;
-         node.next = n;
-         node.prev = n.prev;
-         n.prev = node;
-         size++;
-         return true;  
+      Node node = newNode(element);
+      linkBefore(node, n);
+      if (head != null) {
+         indexInsert(node);
       }
+      return true;
    }
 
    /**
@@ -161,38 +322,112 @@ public class LinkedSet<T extends Comparable<? super T>> implements Set<T> {
     * @return  true if collection is changed, false otherwise.
     */
    public boolean remove(T element) {
-      Node node = new Node(element);
-      Node node1 = front;
-      
-      if (node.element.compareTo(front.element) == 0) {
-         Node n = front;
-         n.next.prev = node.next;
-         front = front.next;
-         size--;
-         return true;
+      if (element == null) {
+         return false;
       }
       
-      if (node.element.compareTo(rear.element) == 0) {
-         Node n = rear;
-         n.prev.next = node.prev;
-         rear = rear.prev;
-         size--;
-         return true;
+      Node n = ceilingNode(element);
+      
+      if (n == null || n.element.compareTo(element) != 0) {
+         return false;
       }
-   
-      if (contains(element)) {
-         while (node.element.compareTo(node1.element) != 0) {
-            node1 = node1.next;
+      
+      if (head != null) {
+         indexRemove(element);
+      }
+      unlink(n);
+      return true;
+   }
+
+
+   /**
+    * Ensures the collection contains every element of the parameter.
+    * The elements are sorted once and merged into the list in a single
+    * pass, so a batch of k elements costs O(n + k log k).
+    *
+    * @param  elements  The elements whose presence is to be ensured.
+    * @return true if collection is changed, false otherwise.
+    */
+   @SuppressWarnings("unchecked")
+   public boolean addAll(Iterable<? extends T> elements) {
+      Object[] items = SortedArrays.toArray(elements);
+      int k = SortedArrays.sortDistinct(items);
+      int before = size;
+      Node n = front;
+      
+      for (int i = 0; i < k; i++) {
+         T val = (T) items[i];
+         while (n != null && n.element.compareTo(val) < 0) {
+            n = n.next;
          }
+         if (n == null || n.element.compareTo(val) != 0) {
+            linkBefore(newNode(val), n);
+         }
+      }
       
-         node.prev = node1.prev;
-         node1.prev.next = node1.next;
-         node1.next.prev = node1.prev;
-         size--;
-         return true;
+      return changed(before);
+   }
+
+
+   /**
+    * Ensures the collection contains none of the elements of the parameter.
+    * The elements are sorted once and removed in a single pass over the
+    * list, so a batch of k elements costs O(n + k log k).
+    *
+    * @param  elements  The elements to be removed.
+    * @return true if collection is changed, false otherwise.
+    */
+   @SuppressWarnings("unchecked")
+   public boolean removeAll(Iterable<? extends T> elements) {
+      Object[] items = SortedArrays.toArray(elements);
+      int k = SortedArrays.sortDistinct(items);
+      int before = size;
+      Node n = front;
+      
+      for (int i = 0; i < k && n != null; i++) {
+         T val = (T) items[i];
+         while (n != null && n.element.compareTo(val) < 0) {
+            n = n.next;
+         }
+         if (n != null && n.element.compareTo(val) == 0) {
+            Node next = n.next;
+            unlink(n);
+            n = next;
+         }
       }
       
-      return false;
+      return changed(before);
+   }
+
+
+   /**
+    * Ensures the collection contains only elements of the parameter.
+    * The elements are sorted once and the list is filtered in a single
+    * pass, so a batch of k elements costs O(n + k log k).
+    *
+    * @param  elements  The elements to be kept.
+    * @return true if collection is changed, false otherwise.
+    */
+   @SuppressWarnings("unchecked")
+   public boolean retainAll(Iterable<? extends T> elements) {
+      Object[] items = SortedArrays.toArray(elements);
+      int k = SortedArrays.sortDistinct(items);
+      int before = size;
+      Node n = front;
+      int i = 0;
+      
+      while (n != null) {
+         while (i < k && ((T) items[i]).compareTo(n.element) < 0) {
+            i++;
+         }
+         Node next = n.next;
+         if (i == k || ((T) items[i]).compareTo(n.element) != 0) {
+            unlink(n);
+         }
+         n = next;
+      }
+      
+      return changed(before);
    }
 
 
@@ -204,21 +439,12 @@ public class LinkedSet<T extends Comparable<? super T>> implements Set<T> {
     */
    public boolean contains(T element) {
    
-      if (isEmpty()) {
+      if (isEmpty() || element == null) {
          return false;
       }
       
-      Node temp = front;
-   
-      while (temp != null) {
-         if (temp.element.compareTo(element) == 0) {
-            return true;
-         }
-         
-         temp = temp.next;
-      }
-        
-      return false;
+      Node n = ceilingNode(element);
+      return n != null && n.element.compareTo(element) == 0;
    }
 
 
@@ -281,98 +507,33 @@ public class LinkedSet<T extends Comparable<? super T>> implements Set<T> {
 
    /**
     * Returns a set that is the union of this set and the parameter set.
+    * If the parameter set is ordered, both sets are merged in a single
+    * pass; otherwise its elements are sorted first.
     *
     * @return  a set that contains all the elements of this set and the parameter set
     */
     
-   public Set<T> union(Set<T> s){
-   
-      Node node = front;
-      LinkedSet<T> uSet = new LinkedSet<T>();
-      while (node != null) {
-         uSet.add(node.element);
-         node = node.next;
-      }
-      
-      if (s.isEmpty()) {
-         return uSet;
+   public Set<T> union(Set<T> s) {
+      if (s instanceof LinkedSet) {
+         return union((LinkedSet<T>) s);
       }
       
-      for (T val : s) { 
-         uSet.add(val);  
+      if (s instanceof OrderedSet) {
+         return mergeUnion(s.iterator());
       }
       
-      return uSet;
+      return mergeUnion(sortedIterator(s));
    }
 
    /**
     * Returns a set that is the union of this set and the parameter set.
+    * Both lists are walked once, so this method runs in O(n + m).
     *
     * @return  a set that contains all the elements of this set and the parameter set
     */ 
     
-   public Set<T> union(LinkedSet<T> s){
-   
-      LinkedSet<T> uSet = new LinkedSet<T>();
-      Node node = front;
-      Node node1 = s.front;
-      Node n1 = new Node(node1.element);
-   
-      if (uSet.size == 0 && (!isEmpty())) {
-         uSet.front = node;
-         uSet.rear = rear;
-         uSet.front.prev = null;
-         uSet.size += uSet.size + size;
-      }
-   
-      while (n1 != null) {
-         if (uSet.size == 0) {
-            uSet.front = node1;
-            uSet.rear = uSet.front;
-            uSet.front.prev = null;
-            n1 = new Node(node1.next.element);
-            uSet.size = uSet.size + 1;
-         }
-         
-         else if (n1.element.compareTo(uSet.rear.element) > 0) {
-            Node n = s.rear;
-            uSet.rear.next = node1;
-            uSet.rear = node1;
-            uSet.rear.prev = n;
-            n1 = new Node(node1.next.element);
-            uSet.size = uSet.size + 1;
-         }
-         
-         else if (n1.element.compareTo(uSet.front.element) < 0) {
-            n1.next = node;
-            node.prev = n1;
-            uSet.front = n1;
-            n1 = node1.next;
-            n1 = new Node(node1.next.element);
-            uSet.size = uSet.size + 1;
-         } 
-         
-         else {
-         
-            while (n1.element.compareTo(node.element) > 0) {
-               node = node.next;
-            }
-         
-            node.prev.next = n1;
-            n1.next = node;
-            n1.prev = node.prev;
-            node.prev = n1;
-            n1 = new Node(node1.next.element);
-            uSet.size = uSet.size + 1;  
-         }
-      }
-      
-      
-      if (s.isEmpty()) {
-         return uSet;
-      }  
-      
-      return uSet;
+   public Set<T> union(LinkedSet<T> s) {
+      return mergeUnion(s.iterator());
    }
 
 
@@ -384,41 +545,54 @@ public class LinkedSet<T extends Comparable<? super T>> implements Set<T> {
     
     
    public Set<T> intersection(Set<T> s) {
+      if (s instanceof LinkedSet) {
+         return intersection((LinkedSet<T>) s);
+      }
+      
+      if (skewed(s, this)) {
+         return seekIntersection(s, this);
+      }
+      
+      if (s instanceof OrderedSet) {
+         if (skewed(this, s)) {
+            return seekIntersection(this, s);
+         }
+         return mergeIntersection(s.iterator());
+      }
+      
       LinkedSet<T> uSet = new LinkedSet<T>();
       Node node = front;
-      if (!this.isEmpty())
-         while (node != null) {
-            if (s.contains(node.element)) {
-               uSet.add(node.element);
-            }
-            
-            node = node.next;
+      while (node != null) {
+         if (s.contains(node.element)) {
+            uSet.linkLast(node.element);
          }
          
+         node = node.next;
+      }
+         
       return uSet;
    }
 
    /**
     * Returns a set that is the intersection of this set and
-    * the parameter set.
+    * the parameter set. Both lists are walked once, so this
+    * method runs in O(n + m), unless one set is much larger
+    * than the other and has a skip-list index. Each element of
+    * the smaller set is then sought through the index of the
+    * larger, so this method runs in O(m log n).
     *
     * @return  a set that contains elements that are in both
     *            this set and the parameter set
     */
     
    public Set<T> intersection(LinkedSet<T> s) {
-      LinkedSet<T> uSet = new LinkedSet<T>();
-      Node node = front;
-      if (!this.isEmpty())
-         while (node != null) {
-            if (s.contains(node.element)) {
-               uSet.add(node.element);
-            }
-            
-            node = node.next;
-         }
-         
-      return uSet;
+      if (skewed(this, s)) {
+         return seekIntersection(this, s);
+      }
+      if (skewed(s, this)) {
+         return seekIntersection(s, this);
+      }
+      return mergeIntersection(s.iterator());
    }
 
    /**
@@ -432,16 +606,24 @@ public class LinkedSet<T extends Comparable<? super T>> implements Set<T> {
          return this;
       }
       
-      if (this == null || isEmpty()) {
+      if (isEmpty()) {
          return this;
       }
       
+      if (s instanceof LinkedSet) {
+         return complement((LinkedSet<T>) s);
+      }
+      
+      if (s instanceof OrderedSet) {
+         return mergeComplement(s.iterator());
+      }
+      
       LinkedSet<T> cSet = new LinkedSet<T>();
       Node node = front;
       
       while (node != null) {
          if (!s.contains(node.element)) {
-            cSet.add(node.element);
+            cSet.linkLast(node.element);
          }
          
          node = node.next;
@@ -452,7 +634,8 @@ public class LinkedSet<T extends Comparable<? super T>> implements Set<T> {
 
    /**
     * Returns a set that is the complement of this set and
-    * the parameter set.
+    * the parameter set. Both lists are walked once, so this
+    * method runs in O(n + m).
     *
     * @return  a set that contains elements that are in this
     *            set but not the parameter set
@@ -463,22 +646,11 @@ public class LinkedSet<T extends Comparable<? super T>> implements Set<T> {
          return this;
       }
       
-      if (this == null || isEmpty()) {
+      if (isEmpty()) {
          return this;
       }
       
-      LinkedSet<T> cSet = new LinkedSet<T>();
-      Node node = front;
-      
-      while (node != null) {
-         if (!s.contains(node.element)) {
-            cSet.add(node.element);
-         }
-         
-         node = node.next;
-      }
-      
-      return cSet;
+      return mergeComplement(s.iterator());
    }
 
    /**
@@ -503,45 +675,767 @@ public class LinkedSet<T extends Comparable<? super T>> implements Set<T> {
       return new DescIterator();
    }
 
+   /**
+    * Returns a spliterator over the elements in this LinkedSet.
+    * It reports the size and ascending order of the elements and
+    * splits the node list in half using the known size.
+    *
+    * @return  a spliterator over the elements in this LinkedSet
+    */
+    
+   public Spliterator<T> spliterator() {
+      return new LinkedSetSpliterator(front, size);
+   }
+
    /**
     * Returns an iterator over the members of the power set
-    * of this LinkedSet. No specific order can be assumed.
+    * of this LinkedSet. Subsets are returned in Gray-code order,
+    * each differing from the one before it by one element, as
+    * read-only views of a snapshot of this LinkedSet.
     *
     * @return  an iterator over members of the power set
     */
     
    public Iterator<Set<T>> powerSetIterator() {
-      return new PowerSetIterator();
+      return new PowerSet<T>(this).iterator();
    }
 
-   //////////////////////////////
-   // Private utility methods. //
-   //////////////////////////////
+   /**
+    * Returns the power set of a snapshot of this LinkedSet, which
+    * can be iterated, counted, or split for parallel enumeration.
+    *
+    * @return  the power set of this LinkedSet
+    */
+    
+   public PowerSet<T> powerSet() {
+      return new PowerSet<T>(this);
+   }
 
-   // Feel free to add as many private methods as you need.
+   /**
+    * Returns an iterator over the subsets of size k of this
+    * LinkedSet, in lexicographic order of their elements.
+    *
+    * @param   k  the size of each subset
+    * @return  an iterator over the subsets of size k
+    */
+    
+   public Iterator<Set<T>> combinationsIterator(int k) {
+      return new Combinations<T>(this, k).iterator();
+   }
 
-   ////////////////////
-   // Nested classes //
-   ////////////////////
+   /**
+    * Returns the subsets of size k of a snapshot of this LinkedSet,
+    * which can be iterated, counted, or streamed in parallel.
+    *
+    * @param   k  the size of each subset
+    * @return  the subsets of size k of this LinkedSet
+    */
+    
+   public Combinations<T> combinations(int k) {
+      return new Combinations<T>(this, k);
+   }
 
-   private class LinkedSetIterator implements Iterator<T> {
-      private Node current;
-   
-      public LinkedSetIterator() {
-         current = front;
-      }
-      
-      @Override
-      public boolean hasNext() {
-         return (current != null); 
-      }
-      
-      @Override
-      public T next() {
-         if (!hasNext()) {
-            throw new NoSuchElementException();
+   /**
+    * Writes the elements of this set to out in ascending order in the
+    * binary format of SetStreams. Integral elements are delta encoded
+    * and String elements front coded; no other element types can be
+    * written. Elements are encoded one at a time, so no copy of the set
+    * is made. out is flushed but not closed.
+    *
+    * @param   out  the stream to write to
+    * @throws  IOException if out throws one
+    * @throws  IllegalArgumentException if the elements are neither
+    *            Byte, Short, Integer, Long, nor String
+    */
+    
+   public void writeTo(OutputStream out) throws IOException {
+      SetStreams.write(iterator(), size, out);
+   }
+
+   /**
+    * Reads a set written by writeTo. The node list is rebuilt by linking
+    * each element after rear, so this runs in O(n) and holds no element
+    * beyond those of the set. in should be buffered.
+    *
+    * @param   in  the stream to read from
+    * @return  a LinkedSet of the elements in the stream
+    * @throws  IOException if in throws one, or does not hold a set in
+    *            ascending order
+    */
+    
+   @SuppressWarnings("unchecked")
+   public static <T extends Comparable<? super T>> LinkedSet<T> readFrom(InputStream in) throws IOException {
+      SetStreams.Reader reader = SetStreams.read(in);
+      LinkedSet<T> set = new LinkedSet<T>();
+      for (int i = reader.count(); i > 0; i--) {
+         T val = (T) reader.next();
+         if (set.rear != null && set.rear.element.compareTo(val) >= 0) {
+            throw new IOException("elements are not in ascending order");
          }
-         else {
+         set.linkLast(val);
+      }
+      return set;
+   }
+
+   /**
+    * Returns the changes that turn this set into other, in ascending
+    * order of their elements: an ADDED change for each element of other
+    * that is not in this set and a REMOVED change for each element of
+    * this set that is not in other. The changes are found lazily by a
+    * single merge pass over both node lists, so only O(d) of them are
+    * ever produced and nothing is copied. Neither set should be changed
+    * while the iterator is in use.
+    *
+    * @param   other  the newer version of this set
+    * @return  an iterator over the changes from this set to other
+    */
+   public Iterator<SetChange<T>> diff(LinkedSet<T> other) {
+      return new DiffIterator(front, other.front);
+   }
+
+   /**
+    * Applies changes, such as those returned by diff, to this set in a
+    * single pass over the node list, so d changes cost O(n + d). Adding
+    * an element that is present or removing one that is absent does
+    * nothing. The changes must be in ascending order of their elements.
+    *
+    * @param   changes  the changes in ascending order of their elements
+    * @return  true if this set is changed, false otherwise
+    * @throws  IllegalArgumentException if the changes are not in
+    *            ascending order; those before it have been applied
+    */
+   public boolean applyDiff(Iterator<? extends SetChange<T>> changes) {
+      int modified = 0;
+      Node n = front;
+      T last = null;
+
+      try {
+         while (changes.hasNext()) {
+            SetChange<T> change = changes.next();
+            T val = change.element();
+            if (last != null && last.compareTo(val) >= 0) {
+               throw new IllegalArgumentException("changes are not in ascending order");
+            }
+            last = val;
+
+            while (n != null && n.element.compareTo(val) < 0) {
+               n = n.next;
+            }
+            boolean present = n != null && n.element.compareTo(val) == 0;
+            if (change.kind() == SetChange.Kind.ADDED && !present) {
+               linkBefore(newNode(val), n);
+               modified++;
+            }
+            else if (change.kind() == SetChange.Kind.REMOVED && present) {
+               Node next = n.next;
+               unlink(n);
+               n = next;
+               modified++;
+            }
+         }
+      }
+      finally {
+         if (modified > 0 && head != null) {
+            rebuildIndex();
+         }
+      }
+
+      return modified > 0;
+   }
+
+   //////////////////////////////
+   // Private utility methods. //
+   //////////////////////////////
+
+   // Feel free to add as many private methods as you need.
+
+   /**
+    * Returns a LinkedSet of the non-null elements of items, which this
+    * method is free to reorder.
+    */
+   @SuppressWarnings("unchecked")
+   private static <T extends Comparable<? super T>> LinkedSet<T> build(Object[] items) {
+      int n = SortedArrays.sortDistinct(items);
+      LinkedSet<T> set = new LinkedSet<T>();
+      for (int i = 0; i < n; i++) {
+         set.linkLast((T) items[i]);
+      }
+      return set;
+   }
+
+   /**
+    * Reports whether small is so much smaller than large that seeking
+    * each of its elements in large beats a merge. Only a LinkedSet with
+    * an index and an ArraySortedSet can be searched in sublinear time.
+    */
+   private static boolean skewed(Set<?> small, Set<?> large) {
+      boolean seekable = (large instanceof LinkedSet && ((LinkedSet<?>) large).head != null)
+            || large instanceof ArraySortedSet;
+      return seekable && (long) small.size() * SortedArrays.SKEW <= large.size();
+   }
+
+   /**
+    * Returns the intersection of small and large by seeking each
+    * element of small, in ascending order, in large.
+    */
+   private static <T extends Comparable<? super T>> LinkedSet<T> seekIntersection(Set<T> small, Set<T> large) {
+      LinkedSet<T> iSet = new LinkedSet<T>();
+      Seeker<T> seeker = new Seeker<T>(large);
+      Iterator<T> itr = ascending(small);
+      while (itr.hasNext()) {
+         T val = itr.next();
+         if (seeker.seek(val)) {
+            iSet.linkLast(val);
+         }
+      }
+      return iSet;
+   }
+
+   /**
+    * Returns an iterator over the distinct elements of s in ascending
+    * natural order, sorting them first unless s is ordered.
+    */
+   @SuppressWarnings("unchecked")
+   private static <T extends Comparable<? super T>> Iterator<T> ascending(Set<T> s) {
+      if (s instanceof OrderedSet) {
+         return s.iterator();
+      }
+      Object[] items = SortedArrays.toArray(s);
+      int n = SortedArrays.sortDistinct(items);
+      List<T> sorted = Arrays.asList((T[]) items);
+      return sorted.subList(0, n).iterator();
+   }
+
+   /**
+    * Returns the first node whose element is not less than element,
+    * or null if there is none. The search starts from the index if
+    * this set has one, and otherwise from the finger.
+    */
+   private Node ceilingNode(T element) {
+      if (head == null) {
+         return fingerSearch(element);
+      }
+      
+      Node n = front;
+      Node pred = indexPredecessor(element);
+      if (pred != null) {
+         n = pred.next;
+      }
+      
+      while (n != null && n.element.compareTo(element) < 0) {
+         n = n.next;
+      }
+      
+      return n;
+   }
+
+   /**
+    * Returns the first node whose element is not less than element, or
+    * null if there is none, and moves the finger to it. The search walks
+    * from the finger toward element and, at the same time, from front or
+    * rear back toward the finger, stopping when either walk arrives. It
+    * therefore costs at most twice the distance from the nearer start.
+    */
+   private Node fingerSearch(T element) {
+      if (front == null || element.compareTo(rear.element) > 0) {
+         return null;
+      }
+      if (element.compareTo(front.element) <= 0) {
+         finger = front;
+         return front;
+      }
+      
+      Node f = (finger == null) ? front : finger;
+      int c = element.compareTo(f.element);
+      if (c == 0) {
+         return f;
+      }
+      
+      Node low = (c > 0) ? f : front;
+      Node high = (c > 0) ? rear : f;
+      
+      // low.element < element <= high.element
+      while (true) {
+         low = low.next;
+         if (low.element.compareTo(element) >= 0) {
+            finger = low;
+            return low;
+         }
+         if (high.prev.element.compareTo(element) < 0) {
+            finger = high;
+            return high;
+         }
+         high = high.prev;
+      }
+   }
+
+   /**
+    * Links node into the list just before succ, or at rear if succ
+    * is null.
+    */
+   private void linkBefore(Node node, Node succ) {
+      if (succ == null) {
+         node.prev = rear;
+         if (rear == null) {
+            front = node;
+         }
+         else {
+            rear.next = node;
+         }
+         rear = node;
+      }
+      
+      else {
+         node.next = succ;
+         node.prev = succ.prev;
+         if (succ.prev == null) {
+            front = node;
+         }
+         else {
+            succ.prev.next = node;
+         }
+         succ.prev = node;
+      }
+      
+      size++;
+   }
+
+   /**
+    * Rebuilds the index after a bulk change to the list if the size
+    * differs from before, and reports whether it does.
+    */
+   private boolean changed(int before) {
+      if (size == before) {
+         return false;
+      }
+      if (head != null) {
+         rebuildIndex();
+      }
+      return true;
+   }
+
+   /**
+    * Removes n from the node list.
+    */
+   private void unlink(Node n) {
+      if (n == finger) {
+         finger = (n.next != null) ? n.next : n.prev;
+      }
+      
+      if (n.prev == null) {
+         front = n.next;
+      }
+      else {
+         n.prev.next = n.next;
+      }
+      
+      if (n.next == null) {
+         rear = n.prev;
+      }
+      else {
+         n.next.prev = n.prev;
+      }
+      
+      n.next = null;
+      n.prev = null;
+      size--;
+      recycle(n);
+   }
+
+   /**
+    * Returns a node containing element, taken from the pool if it
+    * is not empty.
+    */
+   private Node newNode(T element) {
+      Node n = pool;
+      if (n == null) {
+         return new Node(element);
+      }
+      pool = n.next;
+      pooled--;
+      n.next = null;
+      n.element = element;
+      return n;
+   }
+
+   /**
+    * Puts an unlinked node in the pool if there is room, dropping its
+    * element so that the pool keeps nothing else alive.
+    */
+   private void recycle(Node n) {
+      if (pooled < poolCapacity) {
+         n.element = null;
+         n.next = pool;
+         pool = n;
+         pooled++;
+      }
+   }
+
+   /**
+    * Returns an index entry for node with down unset, taken from the
+    * pool if it is not empty.
+    */
+   private Index newIndex(Node node, Index right) {
+      Index x = indexPool;
+      if (x == null) {
+         return new Index(node, right, null);
+      }
+      indexPool = x.right;
+      indexPooled--;
+      x.node = node;
+      x.right = right;
+      x.down = null;
+      return x;
+   }
+
+   /**
+    * Puts an index entry that is no longer linked in the pool if
+    * there is room.
+    */
+   private void recycle(Index x) {
+      if (indexPooled < poolCapacity) {
+         x.node = null;
+         x.down = null;
+         x.right = indexPool;
+         indexPool = x;
+         indexPooled++;
+      }
+   }
+
+   /**
+    * Descends the index and returns the indexed node with the largest
+    * element less than element, or null if there is none.
+    */
+   private Node indexPredecessor(T element) {
+      Index q = head;
+      while (true) {
+         Index r = q.right;
+         while (r != null && r.node.element.compareTo(element) < 0) {
+            q = r;
+            r = q.right;
+         }
+         if (q.down == null) {
+            return q.node;
+         }
+         q = q.down;
+      }
+   }
+
+   /**
+    * Links node, which is already in the node list, into a random
+    * number of index lanes.
+    */
+   private void indexInsert(Node node) {
+      int lanes = Integer.numberOfTrailingZeros(~random.nextInt());
+      if (lanes == 0) {
+         return;
+      }
+      if (lanes > levels) {
+         lanes = levels + 1;
+         Index top = newIndex(null, null);
+         top.down = head;
+         head = top;
+         levels++;
+      }
+      
+      Index q = head;
+      Index above = null;
+      int level = levels;
+      while (q != null) {
+         Index r = q.right;
+         while (r != null && r.node.element.compareTo(node.element) < 0) {
+            q = r;
+            r = q.right;
+         }
+         if (level <= lanes) {
+            Index x = newIndex(node, r);
+            q.right = x;
+            if (above != null) {
+               above.down = x;
+            }
+            above = x;
+         }
+         q = q.down;
+         level--;
+      }
+   }
+
+   /**
+    * Replaces the index with a balanced one in O(n) time: every second
+    * node is in the lowest lane, every fourth in the next, and so on.
+    */
+   @SuppressWarnings({"unchecked", "rawtypes"})
+   private void rebuildIndex() {
+      levels = Math.max(1, 31 - Integer.numberOfLeadingZeros(Math.max(size, 1)));
+      Index[] tails = (Index[]) new LinkedSet.Index[levels + 1];
+      head = new Index(null, null, null);
+      tails[1] = head;
+      for (int level = 2; level <= levels; level++) {
+         head = new Index(null, null, head);
+         tails[level] = head;
+      }
+      
+      int position = 1;
+      for (Node n = front; n != null; n = n.next, position++) {
+         int lanes = Math.min(Integer.numberOfTrailingZeros(position), levels);
+         Index below = null;
+         for (int level = 1; level <= lanes; level++) {
+            Index x = new Index(n, null, below);
+            tails[level].right = x;
+            tails[level] = x;
+            below = x;
+         }
+      }
+   }
+
+   /**
+    * Removes every index entry for element and drops empty top lanes.
+    */
+   private void indexRemove(T element) {
+      Index q = head;
+      while (q != null) {
+         Index r = q.right;
+         while (r != null && r.node.element.compareTo(element) < 0) {
+            q = r;
+            r = q.right;
+         }
+         if (r != null && r.node.element.compareTo(element) == 0) {
+            q.right = r.right;
+            recycle(r);
+         }
+         q = q.down;
+      }
+      
+      while (levels > 1 && head.right == null) {
+         Index top = head;
+         head = head.down;
+         recycle(top);
+         levels--;
+      }
+   }
+
+   /**
+    * Links a new node containing element after rear. The caller
+    * must guarantee that element is greater than every element
+    * already in this set.
+    */
+   private void linkLast(T element) {
+      Node node = newNode(element);
+      if (rear == null) {
+         front = node;
+      }
+      else {
+         rear.next = node;
+         node.prev = rear;
+      }
+      rear = node;
+      size++;
+   }
+
+   /**
+    * Returns the next element of it, or null if it is exhausted.
+    */
+   private T nextOrNull(Iterator<T> it) {
+      return it.hasNext() ? it.next() : null;
+   }
+
+   /**
+    * Returns an iterator over the distinct elements of s in
+    * ascending natural order.
+    */
+   @SuppressWarnings("unchecked")
+   private Iterator<T> sortedIterator(Set<T> s) {
+      T[] items = (T[]) new Comparable<?>[s.size()];
+      int count = 0;
+      for (T val : s) {
+         items[count++] = val;
+      }
+      Arrays.sort(items);
+      return Arrays.asList(items).iterator();
+   }
+
+   /**
+    * Merges this list with the ascending elements of other and
+    * returns every element found in either.
+    */
+   private LinkedSet<T> mergeUnion(Iterator<T> other) {
+      LinkedSet<T> uSet = new LinkedSet<T>();
+      Node node = front;
+      T val = nextOrNull(other);
+      
+      while (node != null && val != null) {
+         int c = node.element.compareTo(val);
+         if (c < 0) {
+            uSet.linkLast(node.element);
+            node = node.next;
+         }
+         else if (c > 0) {
+            uSet.linkLast(val);
+            val = nextOrNull(other);
+         }
+         else {
+            uSet.linkLast(node.element);
+            node = node.next;
+            val = nextOrNull(other);
+         }
+      }
+      
+      while (node != null) {
+         uSet.linkLast(node.element);
+         node = node.next;
+      }
+      
+      while (val != null) {
+         uSet.linkLast(val);
+         val = nextOrNull(other);
+      }
+      
+      return uSet;
+   }
+
+   /**
+    * Merges this list with the ascending elements of other and
+    * returns every element found in both.
+    */
+   private LinkedSet<T> mergeIntersection(Iterator<T> other) {
+      LinkedSet<T> iSet = new LinkedSet<T>();
+      Node node = front;
+      T val = nextOrNull(other);
+      
+      while (node != null && val != null) {
+         int c = node.element.compareTo(val);
+         if (c < 0) {
+            node = node.next;
+         }
+         else if (c > 0) {
+            val = nextOrNull(other);
+         }
+         else {
+            iSet.linkLast(node.element);
+            node = node.next;
+            val = nextOrNull(other);
+         }
+      }
+      
+      return iSet;
+   }
+
+   /**
+    * Merges this list with the ascending elements of other and
+    * returns every element of this list not found in other.
+    */
+   private LinkedSet<T> mergeComplement(Iterator<T> other) {
+      LinkedSet<T> cSet = new LinkedSet<T>();
+      Node node = front;
+      T val = nextOrNull(other);
+      
+      while (node != null && val != null) {
+         int c = node.element.compareTo(val);
+         if (c < 0) {
+            cSet.linkLast(node.element);
+            node = node.next;
+         }
+         else if (c > 0) {
+            val = nextOrNull(other);
+         }
+         else {
+            node = node.next;
+            val = nextOrNull(other);
+         }
+      }
+      
+      while (node != null) {
+         cSet.linkLast(node.element);
+         node = node.next;
+      }
+      
+      return cSet;
+   }
+
+   ////////////////////
+   // Nested classes //
+   ////////////////////
+
+   /**
+    * Holds the smallest unconsumed element of one set in a k-way merge.
+    */
+   private static final class Head<T extends Comparable<? super T>> implements Comparable<Head<T>> {
+      T element;
+      final Iterator<T> rest;
+   
+      Head(T element, Iterator<T> rest) {
+         this.element = element;
+         this.rest = rest;
+      }
+      
+      @Override
+      public int compareTo(Head<T> other) {
+         return element.compareTo(other.element);
+      }
+   }
+
+   /**
+    * Tests successively larger elements for membership in a set. A
+    * LinkedSet is searched in place; an ArraySortedSet's array is
+    * searched in place; any other set is copied once into a sorted array.
+    */
+   private static final class Seeker<T extends Comparable<? super T>> {
+      private LinkedSet<T> list;
+      private Object[] items;
+      private int count;
+      private int position;
+   
+      Seeker(Set<T> s) {
+         if (s instanceof LinkedSet) {
+            list = (LinkedSet<T>) s;
+         }
+         else if (s instanceof ArraySortedSet) {
+            items = ((ArraySortedSet<T>) s).elements;
+            count = ((ArraySortedSet<T>) s).size;
+         }
+         else {
+            items = SortedArrays.toArray(s);
+            count = SortedArrays.sortDistinct(items);
+         }
+      }
+      
+      /**
+       * Reports whether key is in the set. Each key must be greater
+       * than the one before it.
+       */
+      boolean seek(T key) {
+         if (list != null) {
+            LinkedSet<T>.Node n = list.ceilingNode(key);
+            return n != null && n.element.compareTo(key) == 0;
+         }
+         position = SortedArrays.gallop(items, position, count, key);
+         return position < count && key.compareTo(element(position)) == 0;
+      }
+      
+      @SuppressWarnings("unchecked")
+      private T element(int i) {
+         return (T) items[i];
+      }
+   }
+
+   private class LinkedSetIterator implements Iterator<T> {
+      private Node current;
+   
+      public LinkedSetIterator() {
+         current = front;
+      }
+      
+      @Override
+      public boolean hasNext() {
+         return (current != null); 
+      }
+      
+      @Override
+      public T next() {
+         if (!hasNext()) {
+            throw new NoSuchElementException();
+         }
+         else {
             T item = current.element;
             current = current.next;
             return item;
@@ -581,40 +1475,140 @@ public class LinkedSet<T extends Comparable<? super T>> implements Set<T> {
          throw new UnsupportedOperationException();
       }
    }
-   
-   private class PowerSetIterator implements Iterator<Set<T>> {
-      private int count;
-      private int current;
-      private int bit;
-   
-      public PowerSetIterator() {
-         count = size;
-         current = 0;
-         bit = 0;
+
+   /**
+    * Merges two node lists, skipping the elements they share. a and b
+    * are the next unconsumed nodes of the old and new lists.
+    */
+   private class DiffIterator implements Iterator<SetChange<T>> {
+      private Node a;
+      private Node b;
+
+      public DiffIterator(Node a, Node b) {
+         this.a = a;
+         this.b = b;
+         skipShared();
       }
-   
+
+      private void skipShared() {
+         while (a != null && b != null && a.element.compareTo(b.element) == 0) {
+            a = a.next;
+            b = b.next;
+         }
+      }
+
+      @Override
       public boolean hasNext() {
-         return (current < (int) Math.pow(2, size));
+         return a != null || b != null;
       }
-   
-      public Set<T> next() {
-         Set<T> pSet = new LinkedSet<T>();
-         int mask = 1;
-         Node node = front;
-         for (int i = 0; i < size; i++) {
-            if ((bit & mask) != 0) {
-               pSet.add(node.element);
-            }
+
+      @Override
+      public SetChange<T> next() {
+         if (!hasNext()) {
+            throw new NoSuchElementException();
          }
-         current++;
-         bit = 0;
-         return pSet;
+         SetChange<T> change;
+         if (b == null || (a != null && a.element.compareTo(b.element) < 0)) {
+            change = SetChange.removed(a.element);
+            a = a.next;
+         }
+         else {
+            change = SetChange.added(b.element);
+            b = b.next;
+         }
+         skipShared();
+         return change;
       }
-   
+
       public void remove() {
          throw new UnsupportedOperationException();
       }
    }
+   
+   private class LinkedSetSpliterator implements Spliterator<T> {
+      private Node current;
+      private int remaining;
+   
+      public LinkedSetSpliterator(Node start, int count) {
+         current = start;
+         remaining = count;
+      }
+      
+      @Override
+      public boolean tryAdvance(Consumer<? super T> action) {
+         if (remaining <= 0) {
+            return false;
+         }
+         T item = current.element;
+         current = current.next;
+         remaining--;
+         action.accept(item);
+         return true;
+      }
+      
+      @Override
+      public void forEachRemaining(Consumer<? super T> action) {
+         Node node = current;
+         int count = remaining;
+         current = null;
+         remaining = 0;
+         for (; count > 0; count--) {
+            action.accept(node.element);
+            node = node.next;
+         }
+      }
+      
+      @Override
+      public Spliterator<T> trySplit() {
+         if (remaining < 2) {
+            return null;
+         }
+         int half = remaining >>> 1;
+         Node start = current;
+         for (int i = 0; i < half; i++) {
+            current = current.next;
+         }
+         remaining -= half;
+         return new LinkedSetSpliterator(start, half);
+      }
+      
+      @Override
+      public long estimateSize() {
+         return remaining;
+      }
+      
+      @Override
+      public int characteristics() {
+         return Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.ORDERED
+               | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
+      }
+      
+      @Override
+      public Comparator<? super T> getComparator() {
+         return null;
+      }
+   }
+   
+   /**
+    * Defines an entry in one lane of the skip-list index.
+    */
+   private class Index {
+      /** the indexed node in the list. */
+      Node node;
+      /** the next entry in this lane. */
+      Index right;
+      /** the entry for the same node one lane below. */
+      Index down;
+   
+      /**
+       * Instantiate an index entry.
+       */
+      Index(Node n, Index r, Index d) {
+         node = n;
+         right = r;
+         down = d;
+      }
+   }
 
    //////////////////////////////////////////////
    // DO NOT CHANGE THE NODE CLASS IN ANY WAY. //
@@ -463,4 +463,355 @@ public class LinkedSetTest {
       Assert.assertEquals(expected, actual);
    }
    
+   @Test public void mergeUnionTest() {
+      LinkedSet<Integer> set = new LinkedSet<Integer>();
+      LinkedSet<Integer> set1 = new LinkedSet<Integer>();
+      
+      set.add(5);
+      set.add(1);
+      set.add(3);
+      set.add(9);
+      
+      set1.add(2);
+      set1.add(3);
+      set1.add(10);
+      
+      Set<Integer> actual = set.union(set1);
+      Assert.assertEquals("[1, 2, 3, 5, 9, 10]", actual.toString());
+      Assert.assertEquals(6, actual.size());
+   }
+   
+   @Test public void mergeIntersectionTest() {
+      LinkedSet<Integer> set = new LinkedSet<Integer>();
+      Set<Integer> set1 = new LinkedSet<Integer>();
+      
+      set.add(5);
+      set.add(1);
+      set.add(3);
+      set.add(9);
+      
+      set1.add(9);
+      set1.add(3);
+      set1.add(4);
+      
+      Set<Integer> actual = set.intersection(set1);
+      Assert.assertEquals("[3, 9]", actual.toString());
+      Assert.assertEquals(2, actual.size());
+   }
+   
+   @Test public void mergeComplementTest() {
+      LinkedSet<Integer> set = new LinkedSet<Integer>();
+      LinkedSet<Integer> set1 = new LinkedSet<Integer>();
+      
+      set.add(5);
+      set.add(1);
+      set.add(3);
+      set.add(9);
+      
+      set1.add(0);
+      set1.add(3);
+      set1.add(9);
+      
+      Set<Integer> actual = set.complement(set1);
+      Assert.assertEquals("[1, 5]", actual.toString());
+      Assert.assertEquals(2, actual.size());
+   }
+   
+   @Test public void indexedAddRemoveTest() {
+      LinkedSet<Integer> set = new LinkedSet<Integer>(true);
+      
+      for (int i = 0; i < 1000; i++) {
+         set.add((i * 7) % 1000);
+      }
+      for (int i = 0; i < 1000; i += 2) {
+         set.remove(i);
+      }
+      
+      Assert.assertEquals(500, set.size());
+      Assert.assertTrue(set.contains(999));
+      Assert.assertFalse(set.contains(500));
+      
+      Iterator<Integer> itr = set.descendingIterator();
+      int expected = 999;
+      while (itr.hasNext()) {
+         Assert.assertEquals(expected, (int) itr.next());
+         expected -= 2;
+      }
+      Assert.assertEquals(-1, expected);
+   }
+   
+   @Test public void removeOnlyElementTest() {
+      Set<Integer> set = new LinkedSet<Integer>();
+      
+      Assert.assertFalse(set.remove(1));
+      set.add(1);
+      Assert.assertTrue(set.remove(1));
+      Assert.assertTrue(set.isEmpty());
+      Assert.assertEquals("[]", set.toString());
+   }
+   
+   @Test public void bulkLoadTest() {
+      Integer[] values = {5, 3, null, 9, 3, 1, 5};
+      LinkedSet<Integer> set = LinkedSet.of(values);
+      
+      Assert.assertEquals("[1, 3, 5, 9]", set.toString());
+      Assert.assertEquals(4, set.size());
+      Assert.assertEquals(5, (int) values[0]);
+      
+      Iterator<Integer> itr = set.descendingIterator();
+      Assert.assertEquals(9, (int) itr.next());
+      
+      Assert.assertEquals("[1, 2, 3]", LinkedSet.of(java.util.Arrays.asList(1, 2, 2, 3)).toString());
+      Assert.assertEquals("[A, B, C]", LinkedSet.of(java.util.stream.Stream.of("C", "A", "B")).toString());
+   }
+   
+   @Test public void batchAddRemoveRetainTest() {
+      LinkedSet<Integer> set = new LinkedSet<Integer>();
+      set.add(2);
+      set.add(4);
+      set.add(6);
+      
+      Assert.assertTrue(set.addAll(java.util.Arrays.asList(5, 1, 4, 9, 1)));
+      Assert.assertEquals("[1, 2, 4, 5, 6, 9]", set.toString());
+      Assert.assertFalse(set.addAll(java.util.Arrays.asList(1, 2)));
+      
+      Assert.assertTrue(set.removeAll(java.util.Arrays.asList(9, 1, 3)));
+      Assert.assertEquals("[2, 4, 5, 6]", set.toString());
+      
+      Assert.assertTrue(set.retainAll(java.util.Arrays.asList(6, 2, 7)));
+      Assert.assertEquals("[2, 6]", set.toString());
+      Assert.assertEquals(2, set.size());
+      
+      Iterator<Integer> itr = set.descendingIterator();
+      Assert.assertEquals(6, (int) itr.next());
+      Assert.assertEquals(2, (int) itr.next());
+      Assert.assertFalse(itr.hasNext());
+   }
+   
+   @Test public void fingerSearchTest() {
+      LinkedSet<Integer> set = new LinkedSet<Integer>();
+      for (int i = 0; i < 100; i += 2) {
+         set.add(i);
+      }
+      
+      for (int i = 0; i < 100; i++) {
+         Assert.assertEquals(i % 2 == 0, set.contains(i));
+      }
+      for (int i = 99; i >= 0; i--) {
+         Assert.assertEquals(i % 2 == 0, set.contains(i));
+      }
+      
+      set.contains(50);
+      set.remove(50);
+      Assert.assertFalse(set.contains(50));
+      Assert.assertTrue(set.contains(52));
+      Assert.assertTrue(set.contains(48));
+      Assert.assertFalse(set.contains(100));
+      Assert.assertFalse(set.contains(-1));
+   }
+   
+   @Test public void grayCodePowerSetTest() {
+      LinkedSet<String> set = new LinkedSet<String>();
+      set.add("A");
+      set.add("B");
+      set.add("C");
+      
+      Iterator<Set<String>> itr = set.powerSetIterator();
+      Set<String> previous = itr.next();
+      Assert.assertTrue(previous.isEmpty());
+      LinkedSet<String> seen = new LinkedSet<String>();
+      seen.add(previous.toString());
+      int count = 1;
+      
+      while (itr.hasNext()) {
+         Set<String> subset = itr.next();
+         Assert.assertEquals(1, Math.abs(subset.size() - previous.size()));
+         Assert.assertEquals(1, subset.union(previous).size() - subset.intersection(previous).size());
+         seen.add(subset.toString());
+         previous = subset;
+         count++;
+      }
+      
+      Assert.assertEquals(8, count);
+      Assert.assertEquals(8, seen.size());
+      Assert.assertEquals(8, set.powerSet().longSize());
+   }
+   
+   @Test public void powerSetSpliteratorTest() {
+      LinkedSet<Integer> set = new LinkedSet<Integer>();
+      for (int i = 0; i < 10; i++) {
+         set.add(i);
+      }
+      
+      long count = java.util.stream.StreamSupport.stream(set.powerSet().spliterator(), true)
+            .filter(s -> s.contains(3))
+            .count();
+      Assert.assertEquals(512, count);
+      
+      LinkedSet<Integer> big = new LinkedSet<Integer>();
+      for (int i = 0; i < 70; i++) {
+         big.add(i);
+      }
+      Assert.assertEquals(java.math.BigInteger.ONE.shiftLeft(70), big.powerSet().size());
+   }
+   
+   @Test public void parallelStreamTest() {
+      LinkedSet<Integer> set = new LinkedSet<Integer>();
+      for (int i = 0; i < 10000; i++) {
+         set.add(i);
+      }
+      
+      long expected = 49995000L;
+      Assert.assertEquals(expected, set.stream().mapToLong(i -> i).sum());
+      Assert.assertEquals(expected, set.parallelStream().mapToLong(i -> i).sum());
+      Assert.assertEquals(10000, set.spliterator().getExactSizeIfKnown());
+      Assert.assertTrue(set.spliterator().hasCharacteristics(java.util.Spliterator.SORTED));
+      Assert.assertEquals(set.toString(), set.parallelStream().map(String::valueOf)
+            .collect(java.util.stream.Collectors.joining(", ", "[", "]")));
+   }
+   
+   @Test public void unionAllTest() {
+      java.util.List<Set<Integer>> sets = new java.util.ArrayList<Set<Integer>>();
+      sets.add(LinkedSet.of(new Integer[] {5, 1, 9}));
+      sets.add(new LinkedSet<Integer>());
+      sets.add(LinkedSet.of(new Integer[] {2, 9, 4}));
+      sets.add(PersistentSortedSet.of(java.util.Arrays.asList(1, 3, 10)));
+      
+      Assert.assertEquals("[1, 2, 3, 4, 5, 9, 10]", LinkedSet.unionAll(sets).toString());
+   }
+   
+   @Test public void intersectAllTest() {
+      LinkedSet<Integer> indexed = new LinkedSet<Integer>(true);
+      ArraySortedSet<Integer> array = new ArraySortedSet<Integer>();
+      for (int i = 0; i < 1000; i++) {
+         indexed.add(i);
+         array.add(i * 2);
+      }
+      java.util.List<Set<Integer>> sets = new java.util.ArrayList<Set<Integer>>();
+      sets.add(indexed);
+      sets.add(array);
+      sets.add(LinkedSet.of(new Integer[] {0, 7, 8, 400, 999, 1500}));
+      
+      Assert.assertEquals("[0, 8, 400]", LinkedSet.intersectAll(sets).toString());
+      sets.add(new LinkedSet<Integer>());
+      Assert.assertTrue(LinkedSet.intersectAll(sets).isEmpty());
+   }
+   
+   @Test public void skewedIntersectionTest() {
+      LinkedSet<Integer> big = new LinkedSet<Integer>(true);
+      for (int i = 0; i < 2000; i++) {
+         big.add(i * 3);
+      }
+      LinkedSet<Integer> small = LinkedSet.of(new Integer[] {-3, 0, 4, 9, 5997, 6000});
+      
+      Assert.assertEquals("[0, 9, 5997]", small.intersection(big).toString());
+      Assert.assertEquals("[0, 9, 5997]", big.intersection(small).toString());
+      Assert.assertEquals("[0, 9, 5997]", big.intersection((Set<Integer>) small).toString());
+   }
+   
+   @Test public void pooledChurnTest() {
+      LinkedSet<Integer> set = new LinkedSet<Integer>(true, 8);
+      for (int i = 0; i < 20; i++) {
+         set.add(i);
+      }
+      for (int round = 0; round < 50; round++) {
+         for (int i = 0; i < 20; i += 3) {
+            set.remove(i);
+         }
+         for (int i = 0; i < 20; i += 3) {
+            set.add(i);
+         }
+      }
+      set.remove(7);
+      set.removeAll(java.util.Arrays.asList(1, 2, 3));
+      set.add(2);
+      
+      Assert.assertEquals("[0, 2, 4, 5, 6, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19]", set.toString());
+      Assert.assertEquals(17, set.size());
+      Assert.assertFalse(set.contains(7));
+   }
+   
+   @Test(expected = IllegalArgumentException.class) public void negativePoolTest() {
+      new LinkedSet<Integer>(false, -1);
+   }
+   
+   @Test public void streamRoundTripTest() throws java.io.IOException {
+      LinkedSet<Long> longs = LinkedSet.of(new Long[] {Long.MIN_VALUE, -7L, 0L, 42L, Long.MAX_VALUE});
+      LinkedSet<String> strings = LinkedSet.of(new String[] {"apple", "apricot", "banana", "band", ""});
+      Assert.assertEquals(longs.toString(), roundTrip(longs).toString());
+      Assert.assertEquals(strings.toString(), roundTrip(strings).toString());
+      Assert.assertTrue(roundTrip(new LinkedSet<Integer>()).isEmpty());
+      
+      LinkedSet<Integer> ints = new LinkedSet<Integer>();
+      for (int i = 0; i < 1000; i++) {
+         ints.add(i * 3);
+      }
+      java.io.ByteArrayOutputStream bytes = new java.io.ByteArrayOutputStream();
+      ints.writeTo(bytes);
+      Assert.assertTrue(bytes.size() < 1100);
+      Assert.assertEquals(ints.toString(), roundTrip(ints).toString());
+   }
+   
+   @Test public void diffTest() {
+      LinkedSet<Integer> before = LinkedSet.of(new Integer[] {1, 3, 5, 7, 9});
+      LinkedSet<Integer> after = LinkedSet.of(new Integer[] {0, 3, 4, 7, 9, 11});
+      
+      StringBuilder changes = new StringBuilder();
+      for (Iterator<SetChange<Integer>> itr = before.diff(after); itr.hasNext(); ) {
+         changes.append(itr.next()).append(" ");
+      }
+      Assert.assertEquals("+0 -1 +4 -5 +11 ", changes.toString());
+      Assert.assertFalse(after.diff(after).hasNext());
+      
+      LinkedSet<Integer> replica = new LinkedSet<Integer>(true);
+      replica.addAll(before);
+      Assert.assertTrue(replica.applyDiff(before.diff(after)));
+      Assert.assertEquals(after.toString(), replica.toString());
+      Assert.assertFalse(replica.applyDiff(before.diff(after)));
+      Assert.assertTrue(replica.contains(11));
+      Assert.assertFalse(replica.contains(5));
+      
+      Assert.assertTrue(replica.applyDiff(after.diff(new LinkedSet<Integer>())));
+      Assert.assertTrue(replica.isEmpty());
+   }
+   
+   @Test(expected = IllegalArgumentException.class) public void unorderedDiffTest() {
+      LinkedSet<Integer> set = LinkedSet.of(new Integer[] {1, 2, 3});
+      set.applyDiff(java.util.Arrays.asList(SetChange.removed(3), SetChange.removed(1)).iterator());
+   }
+   
+   @Test(expected = IllegalArgumentException.class) public void streamObjectsTest() throws java.io.IOException {
+      LinkedSet<java.math.BigDecimal> decimals = LinkedSet.of(new java.math.BigDecimal[]
+            {new java.math.BigDecimal("1.5"), new java.math.BigDecimal("-2")});
+      decimals.writeTo(new java.io.ByteArrayOutputStream());
+   }
+   
+   @Test(expected = java.io.IOException.class) public void streamObjectTagTest() throws java.io.IOException {
+      byte[] bytes = {0x4C, 0x4B, 0x53, 0x54, 1, 6, 1};
+      LinkedSet.readFrom(new java.io.ByteArrayInputStream(bytes));
+   }
+   
+   @Test(expected = java.io.EOFException.class) public void streamCorruptLengthTest() throws java.io.IOException {
+      // One String element whose suffix length claims 2^31 - 1 bytes.
+      byte[] bytes = {0x4C, 0x4B, 0x53, 0x54, 1, 5, 1, 0, (byte) 0xFF, (byte) 0xFF,
+            (byte) 0xFF, (byte) 0xFF, 0x07, 'a', 'b'};
+      LinkedSet.readFrom(new java.io.ByteArrayInputStream(bytes));
+   }
+   
+   @Test public void streamLongStringTest() throws java.io.IOException {
+      StringBuilder text = new StringBuilder();
+      for (int i = 0; i < 20000; i++) {
+         text.append((char) ('a' + i % 26));
+      }
+      LinkedSet<String> strings = LinkedSet.of(new String[] {text.toString(), text + "z"});
+      Assert.assertEquals(strings.toString(), roundTrip(strings).toString());
+   }
+   
+   private static <T extends Comparable<? super T>> LinkedSet<T> roundTrip(LinkedSet<T> set)
+         throws java.io.IOException {
+      java.io.ByteArrayOutputStream bytes = new java.io.ByteArrayOutputStream();
+      set.writeTo(bytes);
+      return LinkedSet.readFrom(new java.io.ByteArrayInputStream(bytes.toByteArray()));
+   }
+   
 }
@@ -0,0 +1,314 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Provides a sorted set of long values with the same operations as
+ * the Set interface. A sorted long array is used as the underlying
+ * data structure, so no element is ever boxed and no object is
+ * allocated per element. Elements are kept in ascending order.
+ *
+ * @author Brian Betz (betzbri@auburn.edu
+ * @version 2016-03-13
+ *
+ */
+public class LongSortedSet {
+
+   /** The default capacity of the underlying array. */
+   private static final int DEFAULT_CAPACITY = 8;
+
+   /** The elements of this set in ascending order. */
+   long[] elements;
+
+   /** The number of elements in this set. */
+   int size;
+
+   /**
+    * Instantiates an empty LongSortedSet.
+    */
+   public LongSortedSet() {
+      this(DEFAULT_CAPACITY);
+   }
+
+   /**
+    * Instantiates an empty LongSortedSet with room for capacity
+    * elements before the array must grow.
+    *
+    * @param  capacity  the initial capacity of the array
+    */
+   public LongSortedSet(int capacity) {
+      elements = new long[Math.max(capacity, 1)];
+      size = 0;
+   }
+
+
+   /**
+    * Return a string representation of this LongSortedSet.
+    *
+    * @return a string representation of this LongSortedSet
+    */
+   @Override
+   public String toString() {
+      if (isEmpty()) {
+         return "[]";
+      }
+      StringBuilder result = new StringBuilder();
+      result.append("[");
+      for (int i = 0; i < size; i++) {
+         result.append(elements[i]);
+         result.append(", ");
+      }
+      result.delete(result.length() - 2, result.length());
+      result.append("]");
+      return result.toString();
+   }
+
+
+   /**
+    * Returns the current size of this collection.
+    *
+    * @return  the number of elements in this collection.
+    */
+   public int size() {
+      return size;
+   }
+
+
+   /**
+    * Tests to see if this collection is empty.
+    *
+    * @return  true if this collection contains no elements, false otherwise.
+    */
+   public boolean isEmpty() {
+      return (size == 0);
+   }
+
+
+   /**
+    * Ensures the collection contains the specified element.
+    *
+    * @param  element  The element whose presence is to be ensured.
+    * @return true if collection is changed, false otherwise.
+    */
+   public boolean add(long element) {
+      int i = Arrays.binarySearch(elements, 0, size, element);
+      if (i >= 0) {
+         return false;
+      }
+
+      i = -(i + 1);
+      if (size == elements.length) {
+         elements = Arrays.copyOf(elements, size * 2);
+      }
+      System.arraycopy(elements, i, elements, i + 1, size - i);
+      elements[i] = element;
+      size++;
+      return true;
+   }
+
+
+   /**
+    * Ensures the collection does not contain the specified element.
+    *
+    * @param   element  The element to be removed.
+    * @return  true if collection is changed, false otherwise.
+    */
+   public boolean remove(long element) {
+      int i = Arrays.binarySearch(elements, 0, size, element);
+      if (i < 0) {
+         return false;
+      }
+
+      System.arraycopy(elements, i + 1, elements, i, size - i - 1);
+      size--;
+      return true;
+   }
+
+
+   /**
+    * Searches for specified element in this collection.
+    *
+    * @param   element  The element whose presence in this collection is to be tested.
+    * @return  true if this collection contains the specified element, false otherwise.
+    */
+   public boolean contains(long element) {
+      return Arrays.binarySearch(elements, 0, size, element) >= 0;
+   }
+
+
+   /**
+    * Tests for equality between this set and the parameter set.
+    *
+    * @return  true if this set contains exactly the same elements as
+    *               the parameter set, false otherwise
+    */
+   public boolean equals(LongSortedSet s) {
+      return s != null && Arrays.equals(elements, 0, size, s.elements, 0, s.size);
+   }
+
+
+   /**
+    * Returns a set that is the union of this set and the parameter set.
+    *
+    * @return  a set that contains all the elements of this set and the parameter set
+    */
+   public LongSortedSet union(LongSortedSet s) {
+      LongSortedSet uSet = new LongSortedSet(size + s.size);
+      long[] out = uSet.elements;
+      int n = 0;
+      int i = 0;
+      int j = 0;
+
+      while (i < size && j < s.size) {
+         long a = elements[i];
+         long b = s.elements[j];
+         if (a < b) {
+            out[n++] = a;
+            i++;
+         }
+         else if (a > b) {
+            out[n++] = b;
+            j++;
+         }
+         else {
+            out[n++] = a;
+            i++;
+            j++;
+         }
+      }
+
+      System.arraycopy(elements, i, out, n, size - i);
+      n += size - i;
+      System.arraycopy(s.elements, j, out, n, s.size - j);
+      n += s.size - j;
+      uSet.size = n;
+      return uSet;
+   }
+
+
+   /**
+    * Returns a set that is the intersection of this set and the parameter set.
+    *
+    * @return  a set that contains elements that are in both this set and the parameter set
+    */
+   public LongSortedSet intersection(LongSortedSet s) {
+      LongSortedSet iSet = new LongSortedSet(Math.min(size, s.size));
+      long[] out = iSet.elements;
+      int n = 0;
+      int i = 0;
+      int j = 0;
+
+      while (i < size && j < s.size) {
+         long a = elements[i];
+         long b = s.elements[j];
+         if (a < b) {
+            i++;
+         }
+         else if (a > b) {
+            j++;
+         }
+         else {
+            out[n++] = a;
+            i++;
+            j++;
+         }
+      }
+
+      iSet.size = n;
+      return iSet;
+   }
+
+
+   /**
+    * Returns a set that is the complement of this set and the parameter set.
+    *
+    * @return  a set that contains elements that are in this set but not the parameter set
+    */
+   public LongSortedSet complement(LongSortedSet s) {
+      LongSortedSet cSet = new LongSortedSet(size);
+      long[] out = cSet.elements;
+      int n = 0;
+      int i = 0;
+      int j = 0;
+
+      while (i < size && j < s.size) {
+         long a = elements[i];
+         long b = s.elements[j];
+         if (a < b) {
+            out[n++] = a;
+            i++;
+         }
+         else if (a > b) {
+            j++;
+         }
+         else {
+            i++;
+            j++;
+         }
+      }
+
+      System.arraycopy(elements, i, out, n, size - i);
+      n += size - i;
+      cSet.size = n;
+      return cSet;
+   }
+
+
+   /**
+    * Returns an iterator over the elements in this LongSortedSet.
+    * Elements are returned in ascending order. Use nextLong to
+    * avoid boxing.
+    *
+    * @return  an iterator over the elements in this LongSortedSet
+    */
+   public PrimitiveIterator.OfLong iterator() {
+      return new LongIterator(0, 1);
+   }
+
+
+   /**
+    * Returns an iterator over the elements in this LongSortedSet.
+    * Elements are returned in descending order. Use nextLong to
+    * avoid boxing.
+    *
+    * @return  an iterator over the elements in this LongSortedSet
+    */
+   public PrimitiveIterator.OfLong descendingIterator() {
+      return new LongIterator(size - 1, -1);
+   }
+
+
+   ////////////////////
+   // Nested classes //
+   ////////////////////
+
+   private class LongIterator implements PrimitiveIterator.OfLong {
+      private int current;
+      private int step;
+
+      public LongIterator(int start, int step) {
+         current = start;
+         this.step = step;
+      }
+
+      @Override
+      public boolean hasNext() {
+         return current >= 0 && current < size;
+      }
+
+      @Override
+      public long nextLong() {
+         if (!hasNext()) {
+            throw new NoSuchElementException();
+         }
+         long item = elements[current];
+         current += step;
+         return item;
+      }
+
+      public void remove() {
+         throw new UnsupportedOperationException();
+      }
+   }
+
+}
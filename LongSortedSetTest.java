@@ -0,0 +1,71 @@
+//@author Brian Betz
+
+import org.junit.Assert;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.PrimitiveIterator;
+
+
+public class LongSortedSetTest {
+
+   private LongSortedSet set;
+   
+   /** Fixture initialization (common initialization
+    *  for all tests). **/
+   @Before public void setUp() {
+      set = new LongSortedSet(2);
+      set.add(Long.MAX_VALUE);
+      set.add(0L);
+      set.add(Long.MIN_VALUE);
+      set.add(-1L);
+      set.add(Integer.MIN_VALUE - 1L);
+      set.add(Integer.MAX_VALUE + 1L);
+   }
+   
+   
+   @Test public void extremeValuesTest() {
+      Assert.assertEquals(6, set.size());
+      Assert.assertEquals("[" + Long.MIN_VALUE + ", -2147483649, -1, 0, 2147483648, "
+            + Long.MAX_VALUE + "]", set.toString());
+      Assert.assertTrue(set.contains(Long.MIN_VALUE));
+      Assert.assertTrue(set.contains(Long.MAX_VALUE));
+      Assert.assertFalse(set.contains(Long.MAX_VALUE - 1));
+      Assert.assertFalse(set.contains(Integer.MIN_VALUE));
+      Assert.assertFalse(set.add(Long.MIN_VALUE));
+      
+      Assert.assertTrue(set.remove(Long.MAX_VALUE));
+      Assert.assertTrue(set.remove(Long.MIN_VALUE));
+      Assert.assertFalse(set.remove(Long.MIN_VALUE));
+      Assert.assertEquals("[-2147483649, -1, 0, 2147483648]", set.toString());
+   }
+   
+   @Test public void unionIntersectionComplementTest() {
+      LongSortedSet set1 = new LongSortedSet();
+      set1.add(Long.MIN_VALUE);
+      set1.add(-5L);
+      set1.add(Integer.MAX_VALUE + 1L);
+      set1.add(Long.MAX_VALUE);
+      
+      Assert.assertEquals("[" + Long.MIN_VALUE + ", -2147483649, -5, -1, 0, 2147483648, "
+            + Long.MAX_VALUE + "]", set.union(set1).toString());
+      Assert.assertEquals("[" + Long.MIN_VALUE + ", 2147483648, " + Long.MAX_VALUE + "]",
+            set.intersection(set1).toString());
+      Assert.assertEquals("[-2147483649, -1, 0]", set.complement(set1).toString());
+      Assert.assertEquals("[-5]", set1.complement(set).toString());
+      Assert.assertTrue(set.union(set1).complement(set1).equals(set.complement(set1)));
+   }
+   
+   @Test public void iteratorTest() {
+      PrimitiveIterator.OfLong itr = set.iterator();
+      Assert.assertEquals(Long.MIN_VALUE, itr.nextLong());
+      Assert.assertEquals(Integer.MIN_VALUE - 1L, itr.nextLong());
+      
+      PrimitiveIterator.OfLong desc = set.descendingIterator();
+      Assert.assertEquals(Long.MAX_VALUE, desc.nextLong());
+      Assert.assertEquals(Integer.MAX_VALUE + 1L, desc.nextLong());
+      Assert.assertEquals(0L, desc.nextLong());
+      Assert.assertEquals(-1L, desc.nextLong());
+   }
+   
+}
@@ -0,0 +1,557 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Provides a read-only implementation of the Set interface for long
+ * values stored in a file. write stores a set in the format below, and
+ * open maps such a file into memory with FileChannel.map; opening reads
+ * only the header, so it takes the same time for any size of set, and
+ * contains, iteration, and the set operations read the mapping directly.
+ *
+ * <p>The file is little-endian and holds, in order:
+ * <ul>
+ * <li>a 32-byte header: the magic number, the format version, the
+ *     element count (long), the block size, the number of blocks, and
+ *     the offset of the index (long);</li>
+ * <li>the blocks: each holds up to BLOCK_SIZE consecutive elements, of
+ *     which the first is kept in the index and each of the rest is
+ *     stored as an unsigned varint of its difference from the one
+ *     before it;</li>
+ * <li>the sparse index: for each block, its first element and the
+ *     offset of its varints, both longs.</li>
+ * </ul>
+ * contains binary-searches the index and decodes one block, so it runs
+ * in O(log(n / BLOCK_SIZE) + BLOCK_SIZE). A file may be at most 2GB,
+ * the most a single mapping can cover.
+ *
+ * @author Brian Betz (betzbri@auburn.edu
+ * @version 2016-03-13
+ *
+ */
+public class MappedLongSet implements OrderedSet<Long>, AutoCloseable {
+
+   /** Identifies a set file: "LSET" in ASCII. */
+   static final int MAGIC = 0x4C534554;
+
+   /** The version of the format written by write. */
+   static final int VERSION = 1;
+
+   /** The number of elements in each block. */
+   static final int BLOCK_SIZE = 128;
+
+   /** The size of the header and of each index entry, in bytes. */
+   private static final int HEADER_BYTES = 32;
+   private static final int ENTRY_BYTES = 16;
+
+   /** The mapped file, or null once closed. */
+   private MappedByteBuffer map;
+
+   /** The values read from the header. */
+   private final long count;
+   private final int blockSize;
+   private final int blocks;
+   private final int indexOffset;
+
+   /**
+    * Instantiates a set over a mapped file whose header is valid.
+    */
+   private MappedLongSet(MappedByteBuffer map) throws IOException {
+      this.map = map;
+      map.order(ByteOrder.LITTLE_ENDIAN);
+      if (map.capacity() < HEADER_BYTES || map.getInt(0) != MAGIC) {
+         throw new IOException("not a set file");
+      }
+      if (map.getInt(4) != VERSION) {
+         throw new IOException("unsupported set file version " + map.getInt(4));
+      }
+      count = map.getLong(8);
+      blockSize = map.getInt(16);
+      blocks = map.getInt(20);
+      long offset = map.getLong(24);
+      if (count < 0 || blockSize < 1 || offset < HEADER_BYTES
+            || offset + (long) blocks * ENTRY_BYTES > map.capacity()) {
+         throw new IOException("corrupt set file header");
+      }
+      indexOffset = (int) offset;
+   }
+
+
+   /**
+    * Maps the set file at path into memory and returns a read-only set
+    * over it. Only the header is read.
+    *
+    * @param  path  the file written by write
+    * @return a set of the elements in the file
+    * @throws IOException if the file cannot be mapped or is not a set file
+    */
+   public static MappedLongSet open(Path path) throws IOException {
+      try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+         if (channel.size() > Integer.MAX_VALUE) {
+            throw new IOException("set file larger than 2GB: " + path);
+         }
+         return new MappedLongSet(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+      }
+   }
+
+
+   /**
+    * Writes the elements of s to the file at path in the format read by
+    * open, replacing any file there. The elements are streamed in
+    * ascending order through a small buffer; only the sparse index is
+    * held in memory. Elements of a set that is not ordered are sorted
+    * first.
+    *
+    * @param  path  the file to write
+    * @param  s     the set to store
+    * @throws IOException if the file cannot be written
+    */
+   public static void write(Path path, Set<Long> s) throws IOException {
+      Iterator<Long> itr;
+      if (s instanceof OrderedSet) {
+         itr = s.iterator();
+      }
+      else {
+         Object[] items = SortedArrays.toArray(s);
+         int n = SortedArrays.sortDistinct(items);
+         itr = Arrays.stream(items, 0, n).map(v -> (Long) v).iterator();
+      }
+
+      try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+         ByteBuffer out = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+         long position = HEADER_BYTES;
+         channel.position(position);
+
+         long[] index = new long[16];
+         int blocks = 0;
+         long written = 0;
+         long prev = 0;
+         while (itr.hasNext()) {
+            long val = itr.next();
+            if (written > 0 && val <= prev) {
+               throw new IllegalArgumentException("elements are not in ascending order");
+            }
+            if (written % BLOCK_SIZE == 0) {
+               if (2 * blocks + 2 > index.length) {
+                  index = Arrays.copyOf(index, index.length * 2);
+               }
+               index[2 * blocks] = val;
+               index[2 * blocks + 1] = position + out.position();
+               blocks++;
+            }
+            else {
+               if (out.remaining() < 10) {
+                  position += drain(channel, out);
+               }
+               putVarint(out, val - prev);
+            }
+            prev = val;
+            written++;
+         }
+         position += drain(channel, out);
+
+         for (int i = 0; i < 2 * blocks; i++) {
+            if (out.remaining() < Long.BYTES) {
+               drain(channel, out);
+            }
+            out.putLong(index[i]);
+         }
+         drain(channel, out);
+
+         out.putInt(MAGIC).putInt(VERSION).putLong(written).putInt(BLOCK_SIZE)
+               .putInt(blocks).putLong(position);
+         out.flip();
+         channel.write(out, 0);
+      }
+   }
+
+
+   /**
+    * Unmaps the file. The set must not be used afterward; closing it
+    * again has no effect.
+    */
+   @Override
+   public void close() {
+      if (map != null) {
+         DirectMemory.free(map);
+         map = null;
+      }
+   }
+
+
+   /**
+    * Return a string representation of this MappedLongSet.
+    *
+    * @return a string representation of this MappedLongSet
+    */
+   @Override
+   public String toString() {
+      if (isEmpty()) {
+         return "[]";
+      }
+      StringBuilder result = new StringBuilder();
+      result.append("[");
+      for (PrimitiveIterator.OfLong itr = iterator(); itr.hasNext(); ) {
+         result.append(itr.nextLong());
+         result.append(", ");
+      }
+      result.delete(result.length() - 2, result.length());
+      result.append("]");
+      return result.toString();
+   }
+
+
+   /**
+    * Returns the current size of this collection, as stored in the
+    * header, or Integer.MAX_VALUE if it is larger than that.
+    *
+    * @return  the number of elements in this collection.
+    */
+   public int size() {
+      return (int) Math.min(count, Integer.MAX_VALUE);
+   }
+
+
+   /**
+    * Returns the current size of this collection as a long.
+    *
+    * @return  the number of elements in this collection.
+    */
+   public long longSize() {
+      return count;
+   }
+
+
+   /**
+    * Tests to see if this collection is empty.
+    *
+    * @return  true if this collection contains no elements, false otherwise.
+    */
+   public boolean isEmpty() {
+      return count == 0;
+   }
+
+
+   /**
+    * A MappedLongSet is read-only.
+    *
+    * @throws UnsupportedOperationException always
+    */
+   public boolean add(Long element) {
+      throw new UnsupportedOperationException("mapped sets are read-only");
+   }
+
+
+   /**
+    * A MappedLongSet is read-only.
+    *
+    * @throws UnsupportedOperationException always
+    */
+   public boolean remove(Long element) {
+      throw new UnsupportedOperationException("mapped sets are read-only");
+   }
+
+
+   /**
+    * Searches for specified element in this collection.
+    *
+    * @param   element  The element whose presence in this collection is to be tested.
+    * @return  true if this collection contains the specified element, false otherwise.
+    */
+   public boolean contains(Long element) {
+      return element != null && contains(element.longValue());
+   }
+
+
+   /**
+    * Searches for specified element in this collection by searching
+    * the sparse index and decoding the one block that may hold it.
+    *
+    * @param   element  The element whose presence in this collection is to be tested.
+    * @return  true if this collection contains the specified element, false otherwise.
+    */
+   public boolean contains(long element) {
+      checkOpen();
+      int low = 0;
+      int high = blocks - 1;
+      int block = -1;
+      while (low <= high) {
+         int mid = (low + high) >>> 1;
+         long first = firstOf(mid);
+         if (first == element) {
+            return true;
+         }
+         if (first < element) {
+            block = mid;
+            low = mid + 1;
+         }
+         else {
+            high = mid - 1;
+         }
+      }
+      if (block < 0) {
+         return false;
+      }
+
+      int position = (int) map.getLong(indexOffset + block * ENTRY_BYTES + 8);
+      long val = firstOf(block);
+      int remaining = lengthOf(block) - 1;
+      while (remaining-- > 0) {
+         long delta = getVarint(position);
+         position += varintSize(delta);
+         val += delta;
+         if (val >= element) {
+            return val == element;
+         }
+      }
+      return false;
+   }
+
+
+   /**
+    * Tests for equality between this set and the parameter set.
+    * Returns true if this set contains exactly the same elements
+    * as the parameter set, regardless of order.
+    *
+    * @return  true if this set contains exactly the same elements as
+    *               the parameter set, false otherwise
+    */
+   public boolean equals(Set<Long> s) {
+      if (s == null || s.size() != size()) {
+         return false;
+      }
+
+      for (Long val : s) {
+         if (!contains(val)) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+
+   /**
+    * Returns a set that is the union of this set and the parameter set,
+    * merging the mapped elements with the parameter in a single pass.
+    *
+    * @return  a set that contains all the elements of this set and the parameter set
+    */
+   public Set<Long> union(Set<Long> s) {
+      return unionView(s).materialize();
+   }
+
+
+   /**
+    * Returns a set that is the intersection of this set and the parameter set.
+    *
+    * @return  a set that contains elements that are in both this set and the parameter set
+    */
+   public Set<Long> intersection(Set<Long> s) {
+      return intersectionView(s).materialize();
+   }
+
+
+   /**
+    * Returns a set that is the complement of this set and the parameter set.
+    *
+    * @return  a set that contains elements that are in this set but not the parameter set
+    */
+   public Set<Long> complement(Set<Long> s) {
+      return complementView(s).materialize();
+   }
+
+
+   /**
+    * Returns an iterator that decodes the blocks in ascending order.
+    * Use nextLong to avoid boxing.
+    *
+    * @return  an iterator over the elements in this set
+    */
+   public PrimitiveIterator.OfLong iterator() {
+      checkOpen();
+      return new BlockIterator();
+   }
+
+
+   /**
+    * Returns an iterator over the elements in descending order. Each
+    * block is decoded into a buffer and returned back to front.
+    *
+    * @return  an iterator over the elements in this set
+    */
+   public PrimitiveIterator.OfLong descendingIterator() {
+      checkOpen();
+      return new DescendingBlockIterator();
+   }
+
+
+   //////////////////////////////
+   // Private utility methods. //
+   //////////////////////////////
+
+   private void checkOpen() {
+      if (map == null) {
+         throw new IllegalStateException("set is closed");
+      }
+   }
+
+   /**
+    * Returns the first element of a block.
+    */
+   private long firstOf(int block) {
+      return map.getLong(indexOffset + block * ENTRY_BYTES);
+   }
+
+   /**
+    * Returns the number of elements in a block.
+    */
+   private int lengthOf(int block) {
+      return (int) Math.min(blockSize, count - (long) block * blockSize);
+   }
+
+   /**
+    * Writes the contents of out to the channel and clears it, returning
+    * the number of bytes written.
+    */
+   private static int drain(FileChannel channel, ByteBuffer out) throws IOException {
+      out.flip();
+      int n = out.remaining();
+      while (out.hasRemaining()) {
+         channel.write(out);
+      }
+      out.clear();
+      return n;
+   }
+
+   /**
+    * Returns the unsigned varint that starts at position in the map.
+    */
+   private long getVarint(int position) {
+      long v = 0;
+      int shift = 0;
+      byte b;
+      do {
+         b = map.get(position++);
+         v |= (long) (b & 0x7F) << shift;
+         shift += 7;
+      } while (b < 0);
+      return v;
+   }
+
+   /**
+    * Returns the number of bytes in the varint encoding of v.
+    */
+   private static int varintSize(long v) {
+      return Math.max(1, (70 - Long.numberOfLeadingZeros(v)) / 7);
+   }
+
+   /**
+    * Writes v as an unsigned varint: seven bits per byte, low bits
+    * first, with the high bit set on every byte but the last.
+    */
+   private static void putVarint(ByteBuffer out, long v) {
+      while ((v & ~0x7FL) != 0) {
+         out.put((byte) ((v & 0x7F) | 0x80));
+         v >>>= 7;
+      }
+      out.put((byte) v);
+   }
+
+
+   ////////////////////
+   // Nested classes //
+   ////////////////////
+
+   /**
+    * Decodes one varint per element, taking the first element of each
+    * block from the index.
+    */
+   private class BlockIterator implements PrimitiveIterator.OfLong {
+      private long returned;
+      private int position;
+      private long val;
+
+      @Override
+      public boolean hasNext() {
+         return returned < count;
+      }
+
+      @Override
+      public long nextLong() {
+         if (!hasNext()) {
+            throw new NoSuchElementException();
+         }
+         if (returned % blockSize == 0) {
+            int block = (int) (returned / blockSize);
+            val = firstOf(block);
+            position = (int) map.getLong(indexOffset + block * ENTRY_BYTES + 8);
+         }
+         else {
+            long delta = getVarint(position);
+            position += varintSize(delta);
+            val += delta;
+         }
+         returned++;
+         return val;
+      }
+
+      public void remove() {
+         throw new UnsupportedOperationException();
+      }
+   }
+
+   /**
+    * Decodes each block, last block first, into a buffer that is then
+    * returned back to front.
+    */
+   private class DescendingBlockIterator implements PrimitiveIterator.OfLong {
+      private long[] buffer;
+      private int block;
+      private int current;
+
+      public DescendingBlockIterator() {
+         buffer = new long[blockSize];
+         block = blocks;
+         current = -1;
+      }
+
+      @Override
+      public boolean hasNext() {
+         return current >= 0 || block > 0;
+      }
+
+      @Override
+      public long nextLong() {
+         if (!hasNext()) {
+            throw new NoSuchElementException();
+         }
+         if (current < 0) {
+            block--;
+            int length = lengthOf(block);
+            int position = (int) map.getLong(indexOffset + block * ENTRY_BYTES + 8);
+            buffer[0] = firstOf(block);
+            for (int i = 1; i < length; i++) {
+               long delta = getVarint(position);
+               position += varintSize(delta);
+               buffer[i] = buffer[i - 1] + delta;
+            }
+            current = length - 1;
+         }
+         return buffer[current--];
+      }
+
+      public void remove() {
+         throw new UnsupportedOperationException();
+      }
+   }
+
+}
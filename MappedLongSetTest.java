@@ -0,0 +1,73 @@
+//@author Brian Betz
+
+import org.junit.Assert;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+
+public class MappedLongSetTest {
+
+   private Path file;
+
+   /** Fixture initialization (common initialization
+    *  for all tests). **/
+   @Before public void setUp() throws IOException {
+      file = Files.createTempFile("set", ".lset");
+      file.toFile().deleteOnExit();
+   }
+   
+   
+   @Test public void roundTripTest() throws IOException {
+      LinkedSet<Long> set = new LinkedSet<Long>();
+      for (long i = 0; i < 1000; i++) {
+         set.add(i * i - 500);
+      }
+      set.add(Long.MIN_VALUE);
+      set.add(Long.MAX_VALUE);
+      MappedLongSet.write(file, set);
+      
+      try (MappedLongSet mapped = MappedLongSet.open(file)) {
+         Assert.assertEquals(1002, mapped.size());
+         Assert.assertTrue(mapped.equals(set));
+         Assert.assertEquals(set.toString(), mapped.toString());
+         Assert.assertTrue(mapped.contains(Long.MAX_VALUE));
+         Assert.assertTrue(mapped.contains(999L * 999 - 500));
+         Assert.assertFalse(mapped.contains(3L));
+         
+         Iterator<Long> itr = mapped.descendingIterator();
+         Assert.assertEquals(Long.MAX_VALUE, (long) itr.next());
+         Assert.assertEquals(999L * 999 - 500, (long) itr.next());
+      }
+   }
+   
+   @Test public void setOperationsTest() throws IOException {
+      MappedLongSet.write(file, LinkedSet.of(new Long[] {1L, 3L, 5L, 7L}));
+      LinkedSet<Long> other = LinkedSet.of(new Long[] {3L, 4L, 7L});
+      
+      try (MappedLongSet mapped = MappedLongSet.open(file)) {
+         Assert.assertEquals("[1, 3, 4, 5, 7]", mapped.union(other).toString());
+         Assert.assertEquals("[3, 7]", mapped.intersection(other).toString());
+         Assert.assertEquals("[1, 5]", mapped.complement(other).toString());
+      }
+   }
+   
+   @Test public void emptyTest() throws IOException {
+      MappedLongSet.write(file, new LinkedSet<Long>());
+      try (MappedLongSet mapped = MappedLongSet.open(file)) {
+         Assert.assertTrue(mapped.isEmpty());
+         Assert.assertEquals("[]", mapped.toString());
+         Assert.assertFalse(mapped.contains(0L));
+      }
+   }
+   
+   @Test(expected = IOException.class) public void notASetFileTest() throws IOException {
+      Files.write(file, new byte[64]);
+      MappedLongSet.open(file);
+   }
+   
+}
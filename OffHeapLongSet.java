@@ -0,0 +1,594 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Provides an implementation of the Set interface for long values that
+ * keeps its elements outside the Java heap. The elements are stored in
+ * ascending order in chunks of direct memory, so the garbage collector
+ * sees a handful of buffer objects rather than a node and a boxed Long
+ * per element, and a set may hold more elements than fit in one array.
+ * contains is a binary search; union, intersection and complement merge
+ * the sorted elements into a new off-heap set. Adding an element larger
+ * than every element in the set appends it in O(1); adding or removing
+ * any other single element shifts the elements after it, so sets should
+ * be built with of, addAll, or in ascending order.
+ *
+ * <p>The memory is released by close, after which the set must not be
+ * used. Boxed Longs are created only by the methods of the Set interface;
+ * the long overloads and nextLong avoid them.
+ *
+ * @author Brian Betz (betzbri@auburn.edu
+ * @version 2016-03-13
+ *
+ */
+public class OffHeapLongSet implements OrderedSet<Long>, AutoCloseable {
+
+   /** The number of elements in a full chunk is 2^CHUNK_SHIFT. */
+   static final int CHUNK_SHIFT = 20;
+   static final int CHUNK = 1 << CHUNK_SHIFT;
+   private static final long MASK = CHUNK - 1;
+
+   /** The capacity of the first chunk of a new set. */
+   private static final int INITIAL_CAPACITY = 16;
+
+   /** The element storage. Every chunk but a lone first one is full size. */
+   private ByteBuffer[] chunks;
+
+   /** The number of elements in this set. */
+   private long size;
+
+   /**
+    * Instantiates an empty OffHeapLongSet.
+    */
+   public OffHeapLongSet() {
+      chunks = new ByteBuffer[] {allocate(INITIAL_CAPACITY)};
+      size = 0;
+   }
+
+
+   /**
+    * Returns an OffHeapLongSet of the given values, which are sorted
+    * once and appended in a single pass. Duplicates are ignored.
+    *
+    * @param  values  the elements of the new set
+    * @return an OffHeapLongSet containing the given values
+    */
+   public static OffHeapLongSet of(long... values) {
+      long[] sorted = values.clone();
+      Arrays.sort(sorted);
+      OffHeapLongSet set = new OffHeapLongSet();
+      for (long v : sorted) {
+         if (set.size == 0 || set.get(set.size - 1) != v) {
+            set.append(v);
+         }
+      }
+      return set;
+   }
+
+
+   /**
+    * Releases the memory held by this set. The set must not be used
+    * afterward; closing it again has no effect.
+    */
+   @Override
+   public void close() {
+      if (chunks == null) {
+         return;
+      }
+      for (ByteBuffer chunk : chunks) {
+         DirectMemory.free(chunk);
+      }
+      chunks = null;
+      size = 0;
+   }
+
+
+   /**
+    * Return a string representation of this OffHeapLongSet.
+    *
+    * @return a string representation of this OffHeapLongSet
+    */
+   @Override
+   public String toString() {
+      if (isEmpty()) {
+         return "[]";
+      }
+      StringBuilder result = new StringBuilder();
+      result.append("[");
+      for (long i = 0; i < size; i++) {
+         result.append(get(i));
+         result.append(", ");
+      }
+      result.delete(result.length() - 2, result.length());
+      result.append("]");
+      return result.toString();
+   }
+
+
+   /**
+    * Returns the current size of this collection, or Integer.MAX_VALUE
+    * if it holds more elements than that.
+    *
+    * @return  the number of elements in this collection.
+    */
+   public int size() {
+      return (int) Math.min(size, Integer.MAX_VALUE);
+   }
+
+
+   /**
+    * Returns the current size of this collection as a long.
+    *
+    * @return  the number of elements in this collection.
+    */
+   public long longSize() {
+      return size;
+   }
+
+
+   /**
+    * Tests to see if this collection is empty.
+    *
+    * @return  true if this collection contains no elements, false otherwise.
+    */
+   public boolean isEmpty() {
+      return size == 0;
+   }
+
+
+   /**
+    * Ensures the collection contains the specified element. Null
+    * values are not allowed.
+    *
+    * @param  element  The element whose presence is to be ensured.
+    * @return true if collection is changed, false otherwise.
+    */
+   public boolean add(Long element) {
+      return element != null && add(element.longValue());
+   }
+
+
+   /**
+    * Ensures the collection contains the specified element.
+    *
+    * @param  element  The element whose presence is to be ensured.
+    * @return true if collection is changed, false otherwise.
+    */
+   public boolean add(long element) {
+      checkOpen();
+      if (size == 0 || get(size - 1) < element) {
+         append(element);
+         return true;
+      }
+      long i = search(element);
+      if (i >= 0) {
+         return false;
+      }
+      i = -(i + 1);
+      append(0L);
+      for (long j = size - 1; j > i; j--) {
+         put(j, get(j - 1));
+      }
+      put(i, element);
+      return true;
+   }
+
+
+   /**
+    * Ensures the collection does not contain the specified element.
+    *
+    * @param   element  The element to be removed.
+    * @return  true if collection is changed, false otherwise.
+    */
+   public boolean remove(Long element) {
+      return element != null && remove(element.longValue());
+   }
+
+
+   /**
+    * Ensures the collection does not contain the specified element.
+    *
+    * @param   element  The element to be removed.
+    * @return  true if collection is changed, false otherwise.
+    */
+   public boolean remove(long element) {
+      checkOpen();
+      long i = search(element);
+      if (i < 0) {
+         return false;
+      }
+      for (long j = i + 1; j < size; j++) {
+         put(j - 1, get(j));
+      }
+      size--;
+      return true;
+   }
+
+
+   /**
+    * Ensures the collection contains every element of the parameter.
+    * The batch is sorted once and merged with this set into new chunks
+    * in a single pass, so a batch of k elements costs O(n + k log k).
+    *
+    * @param  elements  The elements whose presence is to be ensured.
+    * @return true if collection is changed, false otherwise.
+    */
+   public boolean addAll(Iterable<? extends Long> elements) {
+      checkOpen();
+      OffHeapLongSet merged = merge(this, sortedBatch(elements), Operation.UNION);
+      return replaceWith(merged);
+   }
+
+
+   /**
+    * Ensures the collection contains none of the elements of the
+    * parameter, compacting the chunks in place.
+    *
+    * @param  elements  The elements to be removed.
+    * @return true if collection is changed, false otherwise.
+    */
+   public boolean removeAll(Iterable<? extends Long> elements) {
+      checkOpen();
+      return filter(sortedBatch(elements), false);
+   }
+
+
+   /**
+    * Ensures the collection contains only elements of the parameter,
+    * compacting the chunks in place.
+    *
+    * @param  elements  The elements to be kept.
+    * @return true if collection is changed, false otherwise.
+    */
+   public boolean retainAll(Iterable<? extends Long> elements) {
+      checkOpen();
+      return filter(sortedBatch(elements), true);
+   }
+
+
+   /**
+    * Searches for specified element in this collection.
+    *
+    * @param   element  The element whose presence in this collection is to be tested.
+    * @return  true if this collection contains the specified element, false otherwise.
+    */
+   public boolean contains(Long element) {
+      return element != null && contains(element.longValue());
+   }
+
+
+   /**
+    * Searches for specified element in this collection in O(log n).
+    *
+    * @param   element  The element whose presence in this collection is to be tested.
+    * @return  true if this collection contains the specified element, false otherwise.
+    */
+   public boolean contains(long element) {
+      checkOpen();
+      return search(element) >= 0;
+   }
+
+
+   /**
+    * Tests for equality between this set and the parameter set.
+    * Returns true if this set contains exactly the same elements
+    * as the parameter set, regardless of order.
+    *
+    * @return  true if this set contains exactly the same elements as
+    *               the parameter set, false otherwise
+    */
+   public boolean equals(Set<Long> s) {
+      if (s == null || s.size() != size()) {
+         return false;
+      }
+      if (s instanceof OffHeapLongSet) {
+         OffHeapLongSet other = (OffHeapLongSet) s;
+         if (other.size != size) {
+            return false;
+         }
+         for (long i = 0; i < size; i++) {
+            if (get(i) != other.get(i)) {
+               return false;
+            }
+         }
+         return true;
+      }
+
+      for (Long val : s) {
+         if (!contains(val)) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+
+   /**
+    * Returns a new off-heap set that is the union of this set and the
+    * parameter set. The caller is responsible for closing it.
+    *
+    * @return  a set that contains all the elements of this set and the parameter set
+    */
+   public Set<Long> union(Set<Long> s) {
+      return merge(this, ascending(s), Operation.UNION);
+   }
+
+
+   /**
+    * Returns a new off-heap set that is the intersection of this set
+    * and the parameter set. The caller is responsible for closing it.
+    *
+    * @return  a set that contains elements that are in both this set and the parameter set
+    */
+   public Set<Long> intersection(Set<Long> s) {
+      return merge(this, ascending(s), Operation.INTERSECTION);
+   }
+
+
+   /**
+    * Returns a new off-heap set that is the complement of this set and
+    * the parameter set. The caller is responsible for closing it.
+    *
+    * @return  a set that contains elements that are in this set but not the parameter set
+    */
+   public Set<Long> complement(Set<Long> s) {
+      return merge(this, ascending(s), Operation.COMPLEMENT);
+   }
+
+
+   /**
+    * Returns an iterator over the elements in this set in ascending
+    * order. Use nextLong to avoid boxing.
+    *
+    * @return  an iterator over the elements in this set
+    */
+   public PrimitiveIterator.OfLong iterator() {
+      checkOpen();
+      return new ChunkIterator(0, 1);
+   }
+
+
+   /**
+    * Returns an iterator over the elements in this set in descending
+    * order. Use nextLong to avoid boxing.
+    *
+    * @return  an iterator over the elements in this set
+    */
+   public PrimitiveIterator.OfLong descendingIterator() {
+      checkOpen();
+      return new ChunkIterator(size - 1, -1);
+   }
+
+
+   //////////////////////////////
+   // Private utility methods. //
+   //////////////////////////////
+
+   /** The set operations performed by merge. */
+   private enum Operation { UNION, INTERSECTION, COMPLEMENT }
+
+   private void checkOpen() {
+      if (chunks == null) {
+         throw new IllegalStateException("set is closed");
+      }
+   }
+
+   private long get(long i) {
+      return chunks[(int) (i >>> CHUNK_SHIFT)].getLong((int) (i & MASK) << 3);
+   }
+
+   private void put(long i, long value) {
+      chunks[(int) (i >>> CHUNK_SHIFT)].putLong((int) (i & MASK) << 3, value);
+   }
+
+   /**
+    * Returns the index of element if it is present, otherwise
+    * -(insertion point) - 1.
+    */
+   private long search(long element) {
+      long low = 0;
+      long high = size - 1;
+      while (low <= high) {
+         long mid = (low + high) >>> 1;
+         long v = get(mid);
+         if (v < element) {
+            low = mid + 1;
+         }
+         else if (v > element) {
+            high = mid - 1;
+         }
+         else {
+            return mid;
+         }
+      }
+      return -(low + 1);
+   }
+
+   /**
+    * Stores value after the last element, growing the storage first if
+    * it is full. A lone first chunk doubles until it reaches full size;
+    * after that whole chunks are added and nothing is copied.
+    */
+   private void append(long value) {
+      ByteBuffer last = chunks[chunks.length - 1];
+      int lastCapacity = last.capacity() / Long.BYTES;
+      if (size == (long) (chunks.length - 1) * CHUNK + lastCapacity) {
+         if (lastCapacity < CHUNK) {
+            ByteBuffer grown = allocate(Math.min(lastCapacity * 2, CHUNK));
+            grown.put(last.duplicate().clear());
+            DirectMemory.free(last);
+            chunks[0] = grown;
+         }
+         else {
+            chunks = Arrays.copyOf(chunks, chunks.length + 1);
+            chunks[chunks.length - 1] = allocate(CHUNK);
+         }
+      }
+      put(size++, value);
+   }
+
+   /**
+    * Keeps the elements that are, or are not, in the sorted batch,
+    * compacting them toward the front.
+    */
+   private boolean filter(PrimitiveIterator.OfLong batch, boolean keepMatches) {
+      long out = 0;
+      boolean more = batch.hasNext();
+      long b = more ? batch.nextLong() : 0;
+      for (long i = 0; i < size; i++) {
+         long v = get(i);
+         while (more && b < v) {
+            more = batch.hasNext();
+            b = more ? batch.nextLong() : 0;
+         }
+         boolean match = more && b == v;
+         if (match == keepMatches) {
+            put(out++, v);
+         }
+      }
+      if (out == size) {
+         return false;
+      }
+      size = out;
+      return true;
+   }
+
+   /**
+    * Replaces the storage of this set with that of merged if it holds
+    * a different number of elements, and closes merged otherwise.
+    */
+   private boolean replaceWith(OffHeapLongSet merged) {
+      if (merged.size == size) {
+         merged.close();
+         return false;
+      }
+      ByteBuffer[] old = chunks;
+      chunks = merged.chunks;
+      size = merged.size;
+      merged.chunks = null;
+      for (ByteBuffer chunk : old) {
+         DirectMemory.free(chunk);
+      }
+      return true;
+   }
+
+   /**
+    * Returns a new set holding the result of the operation applied to
+    * the elements of a and the ascending elements of other.
+    */
+   private static OffHeapLongSet merge(OffHeapLongSet a, PrimitiveIterator.OfLong other,
+         Operation operation) {
+      a.checkOpen();
+      OffHeapLongSet result = new OffHeapLongSet();
+      long i = 0;
+      boolean more = other.hasNext();
+      long b = more ? other.nextLong() : 0;
+
+      while (i < a.size && more) {
+         long v = a.get(i);
+         if (v < b) {
+            if (operation != Operation.INTERSECTION) {
+               result.append(v);
+            }
+            i++;
+         }
+         else if (v > b) {
+            if (operation == Operation.UNION) {
+               result.append(b);
+            }
+            more = other.hasNext();
+            b = more ? other.nextLong() : 0;
+         }
+         else {
+            if (operation != Operation.COMPLEMENT) {
+               result.append(v);
+            }
+            i++;
+            more = other.hasNext();
+            b = more ? other.nextLong() : 0;
+         }
+      }
+
+      if (operation != Operation.INTERSECTION) {
+         for (; i < a.size; i++) {
+            result.append(a.get(i));
+         }
+      }
+      if (operation == Operation.UNION) {
+         while (more) {
+            result.append(b);
+            more = other.hasNext();
+            b = more ? other.nextLong() : 0;
+         }
+      }
+      return result;
+   }
+
+   /**
+    * Returns an iterator over the distinct elements of s in ascending
+    * order, sorting them first unless s is ordered.
+    */
+   private static PrimitiveIterator.OfLong ascending(Set<Long> s) {
+      if (s instanceof OffHeapLongSet) {
+         return ((OffHeapLongSet) s).iterator();
+      }
+      if (s instanceof OrderedSet) {
+         return s.stream().mapToLong(Long::longValue).iterator();
+      }
+      return sortedBatch(s);
+   }
+
+   /**
+    * Returns an iterator over the distinct elements of a batch in
+    * ascending order.
+    */
+   private static PrimitiveIterator.OfLong sortedBatch(Iterable<? extends Long> elements) {
+      Object[] items = SortedArrays.toArray(elements);
+      int n = SortedArrays.sortDistinct(items);
+      return Arrays.stream(items, 0, n).mapToLong(v -> (Long) v).iterator();
+   }
+
+   /**
+    * Returns a chunk of direct memory for count longs in native order.
+    */
+   private static ByteBuffer allocate(int count) {
+      return ByteBuffer.allocateDirect(count * Long.BYTES).order(ByteOrder.nativeOrder());
+   }
+
+   ////////////////////
+   // Nested classes //
+   ////////////////////
+
+   private class ChunkIterator implements PrimitiveIterator.OfLong {
+      private long current;
+      private long step;
+
+      public ChunkIterator(long start, long step) {
+         current = start;
+         this.step = step;
+      }
+
+      @Override
+      public boolean hasNext() {
+         return current >= 0 && current < size;
+      }
+
+      @Override
+      public long nextLong() {
+         if (!hasNext()) {
+            throw new NoSuchElementException();
+         }
+         long item = get(current);
+         current += step;
+         return item;
+      }
+
+      public void remove() {
+         throw new UnsupportedOperationException();
+      }
+   }
+
+}
@@ -0,0 +1,74 @@
+//@author Brian Betz
+
+import org.junit.Assert;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.Iterator;
+
+
+public class OffHeapLongSetTest {
+
+
+   /** Fixture initialization (common initialization
+    *  for all tests). **/
+   @Before public void setUp() {
+   }
+   
+   
+   @Test public void basicAddRemoveTest() {
+      try (OffHeapLongSet set = new OffHeapLongSet()) {
+         set.add(40);
+         set.add(10);
+         set.add(30L);
+         set.add(10);
+         set.add(-5);
+         set.remove(30);
+         set.remove(7L);
+         
+         Assert.assertEquals(3, set.size());
+         Assert.assertTrue(set.contains(-5));
+         Assert.assertFalse(set.contains(30L));
+         Assert.assertEquals("[-5, 10, 40]", set.toString());
+      }
+   }
+   
+   @Test public void growthTest() {
+      try (OffHeapLongSet set = new OffHeapLongSet()) {
+         int n = OffHeapLongSet.CHUNK + 100;
+         for (long i = 0; i < n; i++) {
+            set.add(i * 2);
+         }
+         Assert.assertEquals(n, set.longSize());
+         Assert.assertTrue(set.contains(2L * (n - 1)));
+         Assert.assertFalse(set.contains(2L * OffHeapLongSet.CHUNK + 1));
+         
+         Iterator<Long> itr = set.descendingIterator();
+         Assert.assertEquals(2L * (n - 1), (long) itr.next());
+      }
+   }
+   
+   @Test public void setOperationsTest() {
+      try (OffHeapLongSet a = OffHeapLongSet.of(9, 1, 5, 3, 1);
+            OffHeapLongSet b = OffHeapLongSet.of(2, 3, 9, 10)) {
+         LinkedSet<Long> c = LinkedSet.of(new Long[] {1L, 2L, 100L});
+         
+         Assert.assertEquals("[1, 2, 3, 5, 9, 10]", a.union(b).toString());
+         Assert.assertEquals("[3, 9]", a.intersection(b).toString());
+         Assert.assertEquals("[1, 5]", a.complement(b).toString());
+         Assert.assertEquals("[1]", a.intersection(c).toString());
+         Assert.assertTrue(a.addAll(c));
+         Assert.assertEquals("[1, 2, 3, 5, 9, 100]", a.toString());
+         Assert.assertTrue(a.retainAll(b));
+         Assert.assertEquals("[2, 3, 9]", a.toString());
+      }
+   }
+   
+   @Test(expected = IllegalStateException.class) public void closedTest() {
+      OffHeapLongSet set = OffHeapLongSet.of(1, 2);
+      set.close();
+      set.close();
+      set.contains(1);
+   }
+   
+}
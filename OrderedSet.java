@@ -0,0 +1,80 @@
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * A set whose iterator returns its elements in ascending natural order.
+ * Two ordered sets can be combined by a single linear merge of their
+ * iterators instead of repeated calls to contains.
+ *
+ * @author Brian Betz (betzbri@auburn.edu
+ * @version 2016-03-13
+ *
+ */
+
+public interface OrderedSet<T extends Comparable<? super T>> extends Set<T> {
+
+   /**
+    * Returns an iterator over the elements in this collection.
+    * Elements are returned in ascending natural order.
+    *
+    * @return  an iterator over the elements in this collection
+    */
+   Iterator<T> iterator();
+
+
+   /**
+    * Returns an iterator over the elements in this collection.
+    * Elements are returned in descending natural order.
+    *
+    * @return  an iterator over the elements in this collection
+    */
+   Iterator<T> descendingIterator();
+
+
+   /**
+    * Returns a spliterator over the elements in this collection that
+    * reports its size and the ascending order of its elements.
+    *
+    * @return  a spliterator over the elements in this collection
+    */
+   default Spliterator<T> spliterator() {
+      return Spliterators.spliterator(iterator(), size(), Spliterator.SORTED
+            | Spliterator.DISTINCT | Spliterator.ORDERED | Spliterator.NONNULL);
+   }
+
+
+   /**
+    * Returns a lazy, read-only view of the union of this set and the
+    * parameter set. No elements are copied until the view is iterated
+    * or materialized.
+    *
+    * @return  a view of the elements of this set and the parameter set
+    */
+   default SetView<T> unionView(Set<T> s) {
+      return new SetView<T>(this, s, SetView.Operation.UNION);
+   }
+
+
+   /**
+    * Returns a lazy, read-only view of the intersection of this set
+    * and the parameter set.
+    *
+    * @return  a view of the elements in both this set and the parameter set
+    */
+   default SetView<T> intersectionView(Set<T> s) {
+      return new SetView<T>(this, s, SetView.Operation.INTERSECTION);
+   }
+
+
+   /**
+    * Returns a lazy, read-only view of the complement of this set and
+    * the parameter set.
+    *
+    * @return  a view of the elements in this set but not the parameter set
+    */
+   default SetView<T> complementView(Set<T> s) {
+      return new SetView<T>(this, s, SetView.Operation.COMPLEMENT);
+   }
+
+}
@@ -0,0 +1,598 @@
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Provides a persistent implementation of the Set interface. An AVL
+ * tree of immutable nodes is used as the underlying data structure, and
+ * an update copies only the O(log n) nodes on the path to the changed
+ * element, sharing every other subtree with the version it came from.
+ * add and remove move this set to a new version; with and without leave
+ * this set unchanged and return the new version instead. snapshot()
+ * runs in O(1), and union, intersection and complement split and join
+ * subtrees, so their results share structure with both operands.
+ *
+ * @author Brian Betz (betzbri@auburn.edu
+ * @version 2016-03-13
+ *
+ */
+public class PersistentSortedSet<T extends Comparable<? super T>> implements OrderedSet<T> {
+
+   /** The root of the current version, or null if this set is empty. */
+   private Node<T> root;
+
+   /**
+    * Instantiates an empty PersistentSortedSet.
+    */
+   public PersistentSortedSet() {
+      root = null;
+   }
+
+   /**
+    * Instantiates a set whose current version is the tree at root.
+    */
+   private PersistentSortedSet(Node<T> root) {
+      this.root = root;
+   }
+
+
+   /**
+    * Returns a PersistentSortedSet of the given elements. The elements
+    * are sorted once and the tree is built balanced in a single pass.
+    * Duplicates and nulls are ignored.
+    *
+    * @param  elements  the elements of the new set
+    * @return a PersistentSortedSet containing the given elements
+    */
+   public static <T extends Comparable<? super T>> PersistentSortedSet<T> of(Iterable<? extends T> elements) {
+      return new PersistentSortedSet<T>(PersistentSortedSet.<T>tree(elements));
+   }
+
+
+   /**
+    * Returns an independent set holding the current elements of this
+    * set. The two share every node until either is changed.
+    *
+    * @return  a snapshot of this set
+    */
+   public PersistentSortedSet<T> snapshot() {
+      return new PersistentSortedSet<T>(root);
+   }
+
+
+   /**
+    * Returns the version of this set that also contains element,
+    * leaving this set unchanged. Returns this set if element is null
+    * or already present.
+    *
+    * @param  element  The element to be added.
+    * @return a set containing the elements of this set and element
+    */
+   public PersistentSortedSet<T> with(T element) {
+      if (element == null) {
+         return this;
+      }
+      Node<T> next = insert(root, element);
+      return (next == root) ? this : new PersistentSortedSet<T>(next);
+   }
+
+
+   /**
+    * Returns the version of this set that does not contain element,
+    * leaving this set unchanged. Returns this set if element is absent.
+    *
+    * @param  element  The element to be removed.
+    * @return a set containing the elements of this set other than element
+    */
+   public PersistentSortedSet<T> without(T element) {
+      if (element == null) {
+         return this;
+      }
+      Node<T> next = delete(root, element);
+      return (next == root) ? this : new PersistentSortedSet<T>(next);
+   }
+
+
+   /**
+    * Return a string representation of this PersistentSortedSet.
+    *
+    * @return a string representation of this PersistentSortedSet
+    */
+   @Override
+   public String toString() {
+      if (isEmpty()) {
+         return "[]";
+      }
+      StringBuilder result = new StringBuilder();
+      result.append("[");
+      for (T element : this) {
+         result.append(element);
+         result.append(", ");
+      }
+      result.delete(result.length() - 2, result.length());
+      result.append("]");
+      return result.toString();
+   }
+
+
+   /**
+    * Returns the current size of this collection.
+    *
+    * @return  the number of elements in this collection.
+    */
+   public int size() {
+      return size(root);
+   }
+
+
+   /**
+    * Tests to see if this collection is empty.
+    *
+    * @return  true if this collection contains no elements, false otherwise.
+    */
+   public boolean isEmpty() {
+      return root == null;
+   }
+
+
+   /**
+    * Ensures the collection contains the specified element. Neither
+    * duplicate nor null values are allowed. Earlier snapshots are not
+    * affected.
+    *
+    * @param  element  The element whose presence is to be ensured.
+    * @return true if collection is changed, false otherwise.
+    */
+   public boolean add(T element) {
+      if (element == null) {
+         return false;
+      }
+      Node<T> next = insert(root, element);
+      if (next == root) {
+         return false;
+      }
+      root = next;
+      return true;
+   }
+
+
+   /**
+    * Ensures the collection does not contain the specified element.
+    * Earlier snapshots are not affected.
+    *
+    * @param   element  The element to be removed.
+    * @return  true if collection is changed, false otherwise.
+    */
+   public boolean remove(T element) {
+      if (element == null) {
+         return false;
+      }
+      Node<T> next = delete(root, element);
+      if (next == root) {
+         return false;
+      }
+      root = next;
+      return true;
+   }
+
+
+   /**
+    * Searches for specified element in this collection.
+    *
+    * @param   element  The element whose presence in this collection is to be tested.
+    * @return  true if this collection contains the specified element, false otherwise.
+    */
+   public boolean contains(T element) {
+      if (element == null) {
+         return false;
+      }
+      Node<T> n = root;
+      while (n != null) {
+         int c = element.compareTo(n.key);
+         if (c == 0) {
+            return true;
+         }
+         n = (c < 0) ? n.left : n.right;
+      }
+      return false;
+   }
+
+
+   /**
+    * Tests for equality between this set and the parameter set.
+    * Returns true if this set contains exactly the same elements
+    * as the parameter set, regardless of order.
+    *
+    * @return  true if this set contains exactly the same elements as
+    *               the parameter set, false otherwise
+    */
+   public boolean equals(Set<T> s) {
+      if (s == null || s.size() != size()) {
+         return false;
+      }
+      if (s instanceof PersistentSortedSet && ((PersistentSortedSet<T>) s).root == root) {
+         return true;
+      }
+
+      for (T val : s) {
+         if (!contains(val)) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+
+   /**
+    * Returns a set that is the union of this set and the parameter set.
+    * The result shares subtrees with both sets.
+    *
+    * @return  a set that contains all the elements of this set and the parameter set
+    */
+   public Set<T> union(Set<T> s) {
+      return new PersistentSortedSet<T>(union(root, tree(s)));
+   }
+
+
+   /**
+    * Returns a set that is the intersection of this set and the parameter set.
+    * The result shares subtrees with both sets.
+    *
+    * @return  a set that contains elements that are in both this set and the parameter set
+    */
+   public Set<T> intersection(Set<T> s) {
+      return new PersistentSortedSet<T>(intersection(root, tree(s)));
+   }
+
+
+   /**
+    * Returns a set that is the complement of this set and the parameter set.
+    * The result shares subtrees with this set.
+    *
+    * @return  a set that contains elements that are in this set but not the parameter set
+    */
+   public Set<T> complement(Set<T> s) {
+      return new PersistentSortedSet<T>(difference(root, tree(s)));
+   }
+
+
+   /**
+    * Returns an iterator over the elements in this set in ascending
+    * natural order. The iterator sees the version current when it is
+    * created.
+    *
+    * @return  an iterator over the elements in this set
+    */
+   public Iterator<T> iterator() {
+      return new TreeIterator(root, true);
+   }
+
+
+   /**
+    * Returns an iterator over the elements in this set in descending
+    * natural order. The iterator sees the version current when it is
+    * created.
+    *
+    * @return  an iterator over the elements in this set
+    */
+   public Iterator<T> descendingIterator() {
+      return new TreeIterator(root, false);
+   }
+
+
+   //////////////////////////////
+   // Private utility methods. //
+   //////////////////////////////
+
+   private static int height(Node<?> n) {
+      return (n == null) ? 0 : n.height;
+   }
+
+   private static int size(Node<?> n) {
+      return (n == null) ? 0 : n.size;
+   }
+
+   /**
+    * Returns the tree of another set, reusing the nodes of a
+    * PersistentSortedSet and building a balanced tree otherwise.
+    */
+   @SuppressWarnings("unchecked")
+   private static <T extends Comparable<? super T>> Node<T> tree(Iterable<? extends T> elements) {
+      if (elements instanceof PersistentSortedSet) {
+         return ((PersistentSortedSet<T>) elements).root;
+      }
+      Object[] items = SortedArrays.toArray(elements);
+      return build(items, 0, SortedArrays.sortDistinct(items));
+   }
+
+   /**
+    * Returns a balanced tree of the sorted, distinct items[lo, hi).
+    */
+   @SuppressWarnings("unchecked")
+   private static <T extends Comparable<? super T>> Node<T> build(Object[] items, int lo, int hi) {
+      if (lo >= hi) {
+         return null;
+      }
+      int mid = (lo + hi) >>> 1;
+      return new Node<T>(build(items, lo, mid), (T) items[mid], build(items, mid + 1, hi));
+   }
+
+   /**
+    * Returns the tree t with element added, or t itself if element is
+    * already present.
+    */
+   private static <T extends Comparable<? super T>> Node<T> insert(Node<T> t, T element) {
+      if (t == null) {
+         return new Node<T>(null, element, null);
+      }
+      int c = element.compareTo(t.key);
+      if (c < 0) {
+         Node<T> left = insert(t.left, element);
+         return (left == t.left) ? t : join(left, t.key, t.right);
+      }
+      if (c > 0) {
+         Node<T> right = insert(t.right, element);
+         return (right == t.right) ? t : join(t.left, t.key, right);
+      }
+      return t;
+   }
+
+   /**
+    * Returns the tree t with element removed, or t itself if element is
+    * absent.
+    */
+   private static <T extends Comparable<? super T>> Node<T> delete(Node<T> t, T element) {
+      if (t == null) {
+         return null;
+      }
+      int c = element.compareTo(t.key);
+      if (c < 0) {
+         Node<T> left = delete(t.left, element);
+         return (left == t.left) ? t : join(left, t.key, t.right);
+      }
+      if (c > 0) {
+         Node<T> right = delete(t.right, element);
+         return (right == t.right) ? t : join(t.left, t.key, right);
+      }
+      return join2(t.left, t.right);
+   }
+
+   /**
+    * Returns a balanced tree of the elements of l, then key, then the
+    * elements of r, where every element of l is less than key and every
+    * element of r is greater. Runs in O(|height(l) - height(r)|).
+    */
+   private static <T extends Comparable<? super T>> Node<T> join(Node<T> l, T key, Node<T> r) {
+      if (height(l) > height(r) + 1) {
+         return joinRight(l, key, r);
+      }
+      if (height(r) > height(l) + 1) {
+         return joinLeft(l, key, r);
+      }
+      return new Node<T>(l, key, r);
+   }
+
+   /**
+    * Joins when l is the taller tree by descending its right spine.
+    */
+   private static <T extends Comparable<? super T>> Node<T> joinRight(Node<T> l, T key, Node<T> r) {
+      if (height(l.right) <= height(r) + 1) {
+         Node<T> t = new Node<T>(l.right, key, r);
+         if (t.height <= height(l.left) + 1) {
+            return new Node<T>(l.left, l.key, t);
+         }
+         return rotateLeft(new Node<T>(l.left, l.key, rotateRight(t)));
+      }
+      Node<T> t = joinRight(l.right, key, r);
+      Node<T> result = new Node<T>(l.left, l.key, t);
+      return (t.height <= height(l.left) + 1) ? result : rotateLeft(result);
+   }
+
+   /**
+    * Joins when r is the taller tree by descending its left spine.
+    */
+   private static <T extends Comparable<? super T>> Node<T> joinLeft(Node<T> l, T key, Node<T> r) {
+      if (height(r.left) <= height(l) + 1) {
+         Node<T> t = new Node<T>(l, key, r.left);
+         if (t.height <= height(r.right) + 1) {
+            return new Node<T>(t, r.key, r.right);
+         }
+         return rotateRight(new Node<T>(rotateLeft(t), r.key, r.right));
+      }
+      Node<T> t = joinLeft(l, key, r.left);
+      Node<T> result = new Node<T>(t, r.key, r.right);
+      return (t.height <= height(r.right) + 1) ? result : rotateRight(result);
+   }
+
+   private static <T extends Comparable<? super T>> Node<T> rotateLeft(Node<T> t) {
+      Node<T> r = t.right;
+      return new Node<T>(new Node<T>(t.left, t.key, r.left), r.key, r.right);
+   }
+
+   private static <T extends Comparable<? super T>> Node<T> rotateRight(Node<T> t) {
+      Node<T> l = t.left;
+      return new Node<T>(l.left, l.key, new Node<T>(l.right, t.key, t.right));
+   }
+
+   /**
+    * Returns a balanced tree of the elements of l followed by those of r.
+    */
+   private static <T extends Comparable<? super T>> Node<T> join2(Node<T> l, Node<T> r) {
+      if (l == null) {
+         return r;
+      }
+      if (r == null) {
+         return l;
+      }
+      Node<T> last = l;
+      while (last.right != null) {
+         last = last.right;
+      }
+      return join(delete(l, last.key), last.key, r);
+   }
+
+   /**
+    * Splits t around key into split.left and split.right, and records
+    * in split.found whether key is in t.
+    */
+   private static <T extends Comparable<? super T>> void split(Node<T> t, T key, Split<T> split) {
+      if (t == null) {
+         split.left = null;
+         split.right = null;
+         split.found = false;
+         return;
+      }
+      int c = key.compareTo(t.key);
+      if (c == 0) {
+         split.left = t.left;
+         split.right = t.right;
+         split.found = true;
+      }
+      else if (c < 0) {
+         split(t.left, key, split);
+         split.right = join(split.right, t.key, t.right);
+      }
+      else {
+         split(t.right, key, split);
+         split.left = join(t.left, t.key, split.left);
+      }
+   }
+
+   /**
+    * Returns the union of a and b, reusing a itself where b adds nothing.
+    */
+   private static <T extends Comparable<? super T>> Node<T> union(Node<T> a, Node<T> b) {
+      if (a == null || a == b) {
+         return b;
+      }
+      if (b == null) {
+         return a;
+      }
+      Split<T> split = new Split<T>();
+      split(b, a.key, split);
+      Node<T> bl = split.left;
+      Node<T> br = split.right;
+      Node<T> left = union(a.left, bl);
+      Node<T> right = union(a.right, br);
+      return (left == a.left && right == a.right) ? a : join(left, a.key, right);
+   }
+
+   /**
+    * Returns the intersection of a and b.
+    */
+   private static <T extends Comparable<? super T>> Node<T> intersection(Node<T> a, Node<T> b) {
+      if (a == null || b == null) {
+         return null;
+      }
+      if (a == b) {
+         return a;
+      }
+      Split<T> split = new Split<T>();
+      split(b, a.key, split);
+      Node<T> bl = split.left;
+      Node<T> br = split.right;
+      boolean found = split.found;
+      Node<T> left = intersection(a.left, bl);
+      Node<T> right = intersection(a.right, br);
+      if (!found) {
+         return join2(left, right);
+      }
+      return (left == a.left && right == a.right) ? a : join(left, a.key, right);
+   }
+
+   /**
+    * Returns the elements of a that are not in b.
+    */
+   private static <T extends Comparable<? super T>> Node<T> difference(Node<T> a, Node<T> b) {
+      if (a == null || a == b) {
+         return null;
+      }
+      if (b == null) {
+         return a;
+      }
+      Split<T> split = new Split<T>();
+      split(a, b.key, split);
+      Node<T> al = split.left;
+      Node<T> ar = split.right;
+      return join2(difference(al, b.left), difference(ar, b.right));
+   }
+
+
+   ////////////////////
+   // Nested classes //
+   ////////////////////
+
+   /**
+    * Walks the tree in order with an explicit stack of ancestors.
+    */
+   private class TreeIterator implements Iterator<T> {
+      private ArrayDeque<Node<T>> stack;
+      private boolean ascending;
+
+      public TreeIterator(Node<T> root, boolean ascending) {
+         this.ascending = ascending;
+         stack = new ArrayDeque<Node<T>>();
+         descend(root);
+      }
+
+      private void descend(Node<T> n) {
+         while (n != null) {
+            stack.push(n);
+            n = ascending ? n.left : n.right;
+         }
+      }
+
+      @Override
+      public boolean hasNext() {
+         return !stack.isEmpty();
+      }
+
+      @Override
+      public T next() {
+         if (!hasNext()) {
+            throw new NoSuchElementException();
+         }
+         Node<T> n = stack.pop();
+         descend(ascending ? n.right : n.left);
+         return n.key;
+      }
+
+      public void remove() {
+         throw new UnsupportedOperationException();
+      }
+   }
+
+   /**
+    * Holds the two trees and the membership flag produced by split.
+    */
+   private static final class Split<T> {
+      Node<T> left;
+      Node<T> right;
+      boolean found;
+   }
+
+   /**
+    * Defines an immutable tree node, shared by every version that
+    * contains it.
+    */
+   private static final class Node<T> {
+      /** the value stored in this node. */
+      final T key;
+      /** the subtrees of smaller and larger elements. */
+      final Node<T> left;
+      final Node<T> right;
+      /** the height of the subtree rooted here. */
+      final int height;
+      /** the number of elements in the subtree rooted here. */
+      final int size;
+
+      Node(Node<T> left, T key, Node<T> right) {
+         this.key = key;
+         this.left = left;
+         this.right = right;
+         height = Math.max(height(left), height(right)) + 1;
+         size = size(left) + size(right) + 1;
+      }
+   }
+
+}
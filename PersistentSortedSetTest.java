@@ -0,0 +1,81 @@
+//@author Brian Betz
+
+import org.junit.Assert;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class PersistentSortedSetTest {
+
+
+   /** Fixture initialization (common initialization
+    *  for all tests). **/
+   @Before public void setUp() {
+   }
+   
+   
+   @Test public void basicAddRemoveTest() {
+      Set<Integer> set = new PersistentSortedSet<Integer>();
+      for (int i = 10; i > 0; i--) {
+         set.add(i);
+      }
+      set.add(5);
+      set.remove(3);
+      set.remove(11);
+      
+      Assert.assertEquals(9, set.size());
+      Assert.assertTrue(set.contains(10));
+      Assert.assertFalse(set.contains(3));
+      Assert.assertEquals("[1, 2, 4, 5, 6, 7, 8, 9, 10]", set.toString());
+   }
+   
+   @Test public void versionsTest() {
+      PersistentSortedSet<Integer> v1 = PersistentSortedSet.of(java.util.Arrays.asList(1, 2, 3));
+      PersistentSortedSet<Integer> v2 = v1.with(4);
+      PersistentSortedSet<Integer> v3 = v2.without(1);
+      PersistentSortedSet<Integer> snapshot = v3.snapshot();
+      v3.add(9);
+      
+      Assert.assertEquals("[1, 2, 3]", v1.toString());
+      Assert.assertEquals("[1, 2, 3, 4]", v2.toString());
+      Assert.assertEquals("[2, 3, 4]", snapshot.toString());
+      Assert.assertEquals("[2, 3, 4, 9]", v3.toString());
+      Assert.assertSame(v1, v1.with(2));
+      Assert.assertSame(v1, v1.without(7));
+   }
+   
+   @Test public void setOperationsTest() {
+      PersistentSortedSet<Integer> set = new PersistentSortedSet<Integer>();
+      Set<Integer> set1 = new LinkedSet<Integer>();
+      
+      for (int i = 1; i <= 9; i += 2) {
+         set.add(i);
+      }
+      set1.add(3);
+      set1.add(4);
+      set1.add(9);
+      
+      Assert.assertEquals("[1, 3, 4, 5, 7, 9]", set.union(set1).toString());
+      Assert.assertEquals("[3, 9]", set.intersection(set1).toString());
+      Assert.assertEquals("[1, 5, 7]", set.complement(set1).toString());
+      Assert.assertEquals("[1, 3, 5, 7, 9]", set.union(set.snapshot()).toString());
+      Assert.assertTrue(set.complement(set).isEmpty());
+   }
+   
+   @Test public void retainAllTest() {
+      PersistentSortedSet<java.math.BigDecimal> set = new PersistentSortedSet<java.math.BigDecimal>();
+      set.add(new java.math.BigDecimal("1.5"));
+      set.add(new java.math.BigDecimal("2"));
+      set.add(new java.math.BigDecimal("3"));
+      
+      Assert.assertTrue(set.retainAll(java.util.Arrays.asList(
+            new java.math.BigDecimal("1.50"), new java.math.BigDecimal("3.0"))));
+      Assert.assertEquals("[1.5, 3]", set.toString());
+      Assert.assertFalse(set.retainAll(LinkedSet.of(new java.math.BigDecimal[]
+            {new java.math.BigDecimal("1.50"), new java.math.BigDecimal("3.00")})));
+      Assert.assertTrue(set.retainAll(new LinkedSet<java.math.BigDecimal>()));
+      Assert.assertTrue(set.isEmpty());
+   }
+   
+}
@@ -0,0 +1,493 @@
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Provides the power set of a snapshot of an ordered set. Subsets are
+ * enumerated in Gray-code order, so each subset differs from the one
+ * before it by exactly one element. Each subset is a read-only view
+ * over the shared, sorted element array and a bit mask, so producing
+ * a subset costs O(n / 64) rather than building a new set.
+ *
+ * @author Brian Betz (betzbri@auburn.edu
+ * @version 2016-03-13
+ *
+ */
+public class PowerSet<T extends Comparable<? super T>> implements Iterable<Set<T>> {
+
+   /** The most elements for which the number of subsets fits in a long. */
+   static final int MAX_LONG_ELEMENTS = 62;
+
+   /** The elements of the base set in ascending natural order. */
+   final T[] elements;
+
+   /**
+    * Instantiates the power set of the current elements of s.
+    *
+    * @param  s  the set whose subsets are enumerated
+    */
+   @SuppressWarnings("unchecked")
+   public PowerSet(OrderedSet<T> s) {
+      elements = (T[]) new Comparable<?>[s.size()];
+      int i = 0;
+      for (T val : s) {
+         elements[i++] = val;
+      }
+   }
+
+
+   /**
+    * Returns the number of subsets, 2^n.
+    *
+    * @return  the number of members of this power set
+    */
+   public BigInteger size() {
+      return BigInteger.ONE.shiftLeft(elements.length);
+   }
+
+
+   /**
+    * Returns the number of subsets, 2^n, as a long.
+    *
+    * @return  the number of members of this power set
+    * @throws  ArithmeticException if the base set has more than 62 elements
+    */
+   public long longSize() {
+      if (elements.length > MAX_LONG_ELEMENTS) {
+         throw new ArithmeticException("2^" + elements.length + " does not fit in a long");
+      }
+      return 1L << elements.length;
+   }
+
+
+   /**
+    * Returns an iterator over the subsets in Gray-code order, starting
+    * with the empty set. Works for base sets of any size.
+    *
+    * @return  an iterator over the members of this power set
+    */
+   public Iterator<Set<T>> iterator() {
+      return new GrayIterator();
+   }
+
+
+   /**
+    * Returns a spliterator over the subsets in Gray-code order. It splits
+    * the range of subset indices in half, since the Gray code of any index
+    * can be computed directly. A base set of more than 62 elements is
+    * enumerated sequentially and does not split.
+    *
+    * @return  a spliterator over the members of this power set
+    */
+   public Spliterator<Set<T>> spliterator() {
+      if (elements.length > MAX_LONG_ELEMENTS) {
+         return java.util.Spliterators.spliteratorUnknownSize(iterator(),
+               Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+      }
+      return new GraySpliterator(0, 1L << elements.length);
+   }
+
+
+   /**
+    * Returns a sequential stream over the subsets in Gray-code order.
+    *
+    * @return  a stream over the members of this power set
+    */
+   public Stream<Set<T>> stream() {
+      return StreamSupport.stream(spliterator(), false);
+   }
+
+
+   /**
+    * Returns a parallel stream over the subsets. The index range is
+    * split across the threads of the common ForkJoinPool.
+    *
+    * @return  a parallel stream over the members of this power set
+    */
+   public Stream<Set<T>> parallelStream() {
+      return StreamSupport.stream(spliterator(), true);
+   }
+
+
+   /**
+    * Returns a stream over the subsets that accept passes, skipping
+    * every superset of a subset that accept rejects. The predicate must
+    * therefore reject every superset of a subset it rejects, as "total
+    * weight at most w" does for non-negative weights. Subsets are visited
+    * as a tree in which each subset is extended only by elements after
+    * its largest one, so a rejected subset prunes its whole subtree.
+    * The stream may be made parallel; its spliterator hands off whole
+    * subtrees.
+    *
+    * @param   accept  the test each returned subset passes
+    * @return  a stream over the accepted members of this power set
+    * @throws  UnsupportedOperationException if the base set has more
+    *            than 64 elements
+    */
+   public Stream<Set<T>> prunedStream(Predicate<? super Set<T>> accept) {
+      if (elements.length > 64) {
+         throw new UnsupportedOperationException("pruned enumeration supports at most 64 elements");
+      }
+      return StreamSupport.stream(new PrunedSpliterator(accept), false);
+   }
+
+
+   //////////////////////////////
+   // Private utility methods. //
+   //////////////////////////////
+
+   /**
+    * Returns the number of words in a mask over the elements.
+    */
+   int words() {
+      return (elements.length + 63) >>> 6;
+   }
+
+   /**
+    * Returns the subset whose elements are the set bits of a
+    * single-word mask.
+    */
+   Subset<T> subset(long bits) {
+      long[] mask = new long[words()];
+      if (mask.length > 0) {
+         mask[0] = bits;
+      }
+      return new Subset<T>(elements, mask);
+   }
+
+   /**
+    * Returns the mask of the subset with the given Gray-code index.
+    */
+   long[] grayMask(long index) {
+      long[] mask = new long[words()];
+      if (mask.length > 0) {
+         mask[0] = index ^ (index >>> 1);
+      }
+      return mask;
+   }
+
+
+   ////////////////////
+   // Nested classes //
+   ////////////////////
+
+   /**
+    * Enumerates every subset with a multiword counter. Step k toggles
+    * the element whose position is the number of trailing zeros of k.
+    */
+   private class GrayIterator implements Iterator<Set<T>> {
+      private long[] mask;
+      private long[] counter;
+      private boolean done;
+
+      public GrayIterator() {
+         mask = new long[words()];
+         counter = new long[words() + 1];
+         done = false;
+      }
+
+      @Override
+      public boolean hasNext() {
+         return !done;
+      }
+
+      @Override
+      public Set<T> next() {
+         if (!hasNext()) {
+            throw new NoSuchElementException();
+         }
+         Set<T> subset = new Subset<T>(elements, mask.clone());
+
+         int w = 0;
+         while (++counter[w] == 0) {
+            w++;
+         }
+         int bit = (w << 6) + Long.numberOfTrailingZeros(counter[w]);
+         if (bit >= elements.length) {
+            done = true;
+         }
+         else {
+            mask[bit >>> 6] ^= 1L << bit;
+         }
+         return subset;
+      }
+
+      public void remove() {
+         throw new UnsupportedOperationException();
+      }
+   }
+
+   /**
+    * Enumerates the subsets with indices in [index, end).
+    */
+   private class GraySpliterator implements Spliterator<Set<T>> {
+      private long index;
+      private long end;
+      private long[] mask;
+
+      public GraySpliterator(long index, long end) {
+         this.index = index;
+         this.end = end;
+      }
+
+      @Override
+      public boolean tryAdvance(Consumer<? super Set<T>> action) {
+         if (index >= end) {
+            return false;
+         }
+         if (mask == null) {
+            mask = grayMask(index);
+         }
+         else {
+            int bit = Long.numberOfTrailingZeros(index);
+            mask[0] ^= 1L << bit;
+         }
+         index++;
+         action.accept(new Subset<T>(elements, mask.clone()));
+         return true;
+      }
+
+      @Override
+      public Spliterator<Set<T>> trySplit() {
+         if (end - index < 2) {
+            return null;
+         }
+         long mid = index + ((end - index) >>> 1);
+         GraySpliterator prefix = new GraySpliterator(index, mid);
+         index = mid;
+         mask = null;
+         return prefix;
+      }
+
+      @Override
+      public long estimateSize() {
+         return end - index;
+      }
+
+      @Override
+      public int characteristics() {
+         return Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.SIZED
+               | Spliterator.SUBSIZED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+      }
+   }
+
+   /**
+    * Enumerates the accepted subsets depth first. Each frame holds an
+    * accepted subset and the range of element positions that may still
+    * extend it. The empty set is tested first by the root spliterator.
+    */
+   private class PrunedSpliterator implements Spliterator<Set<T>> {
+      private Predicate<? super Set<T>> accept;
+      private ArrayDeque<long[]> frames;
+      private boolean root;
+
+      public PrunedSpliterator(Predicate<? super Set<T>> accept) {
+         this.accept = accept;
+         frames = new ArrayDeque<long[]>();
+         frames.push(new long[] {0L, 0, elements.length});
+         root = true;
+      }
+
+      private PrunedSpliterator(Predicate<? super Set<T>> accept, long[] frame) {
+         this.accept = accept;
+         frames = new ArrayDeque<long[]>();
+         frames.push(frame);
+         root = false;
+      }
+
+      @Override
+      public boolean tryAdvance(Consumer<? super Set<T>> action) {
+         if (root) {
+            root = false;
+            Set<T> empty = subset(0L);
+            if (!accept.test(empty)) {
+               frames.clear();
+               return false;
+            }
+            action.accept(empty);
+            return true;
+         }
+
+         while (!frames.isEmpty()) {
+            long[] frame = frames.peek();
+            int next = (int) frame[1];
+            if (next >= frame[2]) {
+               frames.pop();
+               continue;
+            }
+            frame[1] = next + 1;
+            long bits = frame[0] | (1L << next);
+            Set<T> candidate = subset(bits);
+            if (accept.test(candidate)) {
+               frames.push(new long[] {bits, next + 1, elements.length});
+               action.accept(candidate);
+               return true;
+            }
+         }
+         return false;
+      }
+
+      @Override
+      public Spliterator<Set<T>> trySplit() {
+         if (frames.size() > 1) {
+            return new PrunedSpliterator(accept, frames.pollLast());
+         }
+         long[] frame = frames.peek();
+         if (frame == null || frame[2] - frame[1] < 2) {
+            return null;
+         }
+         long[] first = {frame[0], frame[1], frame[1] + 1};
+         frame[1]++;
+         return new PrunedSpliterator(accept, first);
+      }
+
+      @Override
+      public long estimateSize() {
+         return Long.MAX_VALUE;
+      }
+
+      @Override
+      public int characteristics() {
+         return Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+      }
+   }
+
+   /**
+    * Defines a read-only view of the elements whose bits are set in a mask.
+    */
+   static final class Subset<T extends Comparable<? super T>> implements OrderedSet<T> {
+      private final T[] elements;
+      private final long[] mask;
+      private final int size;
+
+      Subset(T[] elements, long[] mask) {
+         this.elements = elements;
+         this.mask = mask;
+         int count = 0;
+         for (long w : mask) {
+            count += Long.bitCount(w);
+         }
+         size = count;
+      }
+
+      @Override
+      public String toString() {
+         if (isEmpty()) {
+            return "[]";
+         }
+         StringBuilder result = new StringBuilder();
+         result.append("[");
+         for (T element : this) {
+            result.append(element);
+            result.append(", ");
+         }
+         result.delete(result.length() - 2, result.length());
+         result.append("]");
+         return result.toString();
+      }
+
+      public int size() {
+         return size;
+      }
+
+      public boolean isEmpty() {
+         return size == 0;
+      }
+
+      public boolean add(T element) {
+         throw new UnsupportedOperationException();
+      }
+
+      public boolean remove(T element) {
+         throw new UnsupportedOperationException();
+      }
+
+      public boolean contains(T element) {
+         if (element == null) {
+            return false;
+         }
+         int i = Arrays.binarySearch(elements, element);
+         return i >= 0 && has(i);
+      }
+
+      public boolean equals(Set<T> s) {
+         if (s == null || s.size() != size) {
+            return false;
+         }
+         for (T val : s) {
+            if (!contains(val)) {
+               return false;
+            }
+         }
+         return true;
+      }
+
+      public Set<T> union(Set<T> s) {
+         return LinkedSet.of(this).union(s);
+      }
+
+      public Set<T> intersection(Set<T> s) {
+         return LinkedSet.of(this).intersection(s);
+      }
+
+      public Set<T> complement(Set<T> s) {
+         return LinkedSet.of(this).complement(s);
+      }
+
+      public Iterator<T> iterator() {
+         return new SubsetIterator(true);
+      }
+
+      public Iterator<T> descendingIterator() {
+         return new SubsetIterator(false);
+      }
+
+      private boolean has(int i) {
+         return (mask[i >>> 6] & (1L << i)) != 0;
+      }
+
+      private class SubsetIterator implements Iterator<T> {
+         private boolean ascending;
+         private int current;
+
+         public SubsetIterator(boolean ascending) {
+            this.ascending = ascending;
+            current = ascending ? -1 : elements.length;
+            advance();
+         }
+
+         private void advance() {
+            do {
+               current += ascending ? 1 : -1;
+            } while (current >= 0 && current < elements.length && !has(current));
+         }
+
+         @Override
+         public boolean hasNext() {
+            return current >= 0 && current < elements.length;
+         }
+
+         @Override
+         public T next() {
+            if (!hasNext()) {
+               throw new NoSuchElementException();
+            }
+            T item = elements[current];
+            advance();
+            return item;
+         }
+
+         public void remove() {
+            throw new UnsupportedOperationException();
+         }
+      }
+   }
+
+}
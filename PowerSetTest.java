@@ -0,0 +1,99 @@
+//@author Brian Betz
+
+import org.junit.Assert;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.stream.Collectors;
+
+
+public class PowerSetTest {
+
+   private LinkedSet<Integer> set;
+
+   /** Fixture initialization (common initialization
+    *  for all tests). **/
+   @Before public void setUp() {
+      set = new LinkedSet<Integer>();
+      for (int i = 1; i <= 14; i++) {
+         set.add(i);
+      }
+   }
+   
+   
+   private static int sum(Set<Integer> s) {
+      int total = 0;
+      for (int val : s) {
+         total += val;
+      }
+      return total;
+   }
+   
+   @Test public void parallelStreamTest() {
+      PowerSet<Integer> power = set.powerSet();
+      
+      long sequential = power.stream().filter(s -> sum(s) == 20).count();
+      long parallel = power.parallelStream().filter(s -> sum(s) == 20).count();
+      
+      Assert.assertEquals(sequential, parallel);
+      Assert.assertEquals(power.longSize(), power.parallelStream().count());
+   }
+   
+   @Test public void prunedStreamTest() {
+      PowerSet<Integer> power = set.powerSet();
+      
+      long expected = power.stream().filter(s -> sum(s) <= 20).count();
+      long actual = power.prunedStream(s -> sum(s) <= 20).count();
+      long parallel = power.prunedStream(s -> sum(s) <= 20).parallel().count();
+      
+      Assert.assertEquals(expected, actual);
+      Assert.assertEquals(expected, parallel);
+      Assert.assertEquals(expected, power.prunedStream(s -> sum(s) <= 20).parallel()
+            .map(Object::toString).collect(Collectors.toSet()).size());
+   }
+   
+   @Test public void prunedEmptyTest() {
+      PowerSet<Integer> power = set.powerSet();
+      
+      Assert.assertEquals(0, power.prunedStream(s -> false).count());
+      Assert.assertEquals(1, power.prunedStream(s -> s.isEmpty()).count());
+   }
+   
+   @Test public void combinationsIteratorTest() {
+      LinkedSet<String> letters = new LinkedSet<String>();
+      letters.add("D");
+      letters.add("B");
+      letters.add("A");
+      letters.add("C");
+      
+      java.util.Iterator<Set<String>> itr = letters.combinationsIterator(2);
+      StringBuilder actual = new StringBuilder();
+      while (itr.hasNext()) {
+         actual.append(itr.next());
+      }
+      Assert.assertEquals("[A, B][A, C][A, D][B, C][B, D][C, D]", actual.toString());
+      Assert.assertFalse(letters.combinationsIterator(5).hasNext());
+      Assert.assertEquals("[]", letters.combinationsIterator(0).next().toString());
+   }
+   
+   @Test public void combinationsLargerThanSetTest() {
+      LinkedSet<String> letters = LinkedSet.of(new String[] {"A", "B", "C", "D", "E"});
+      
+      Assert.assertFalse(letters.combinationsIterator(Integer.MAX_VALUE).hasNext());
+      Assert.assertFalse(letters.combinationsIterator(200000000).hasNext());
+      Assert.assertEquals(0, letters.combinations(6).size());
+      Assert.assertEquals(0, letters.combinations(Integer.MAX_VALUE).stream().count());
+      Assert.assertEquals(0, letters.combinations(200000000).parallelStream().count());
+      Assert.assertEquals(1, letters.combinations(5).size());
+   }
+   
+   @Test public void combinationsStreamTest() {
+      Combinations<Integer> combos = set.combinations(5);
+      
+      Assert.assertEquals(2002, combos.size());
+      Assert.assertEquals(2002, combos.parallelStream().count());
+      Assert.assertEquals(combos.stream().map(Object::toString).collect(Collectors.toList()),
+            combos.parallelStream().map(Object::toString).collect(Collectors.toList()));
+   }
+   
+}
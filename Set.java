@@ -1,4 +1,8 @@
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * A collection that implements set behavior.
@@ -32,6 +36,66 @@ public interface Set<T> extends Iterable<T> {
    boolean remove(T element);
 
 
+   /**
+    * Ensures the collection contains every element of the parameter.
+    *
+    * @param  elements  The elements whose presence is to be ensured.
+    * @return true if collection is changed, false otherwise.
+    */
+   default boolean addAll(Iterable<? extends T> elements) {
+      boolean changed = false;
+      for (T val : elements) {
+         changed |= add(val);
+      }
+      return changed;
+   }
+
+
+   /**
+    * Ensures the collection contains none of the elements of the parameter.
+    *
+    * @param  elements  The elements to be removed.
+    * @return true if collection is changed, false otherwise.
+    */
+   default boolean removeAll(Iterable<? extends T> elements) {
+      boolean changed = false;
+      for (T val : elements) {
+         changed |= remove(val);
+      }
+      return changed;
+   }
+
+
+   /**
+    * Ensures the collection contains only elements of the parameter,
+    * removing every other element. Elements are matched with contains,
+    * never with equals: if the parameter is a Set its contains is asked,
+    * and otherwise its elements are first copied into a LinkedSet. No
+    * element that is kept is ever removed, even for a moment.
+    *
+    * @param  elements  The elements to be kept.
+    * @return true if collection is changed, false otherwise.
+    */
+   @SuppressWarnings({"unchecked", "rawtypes"})
+   default boolean retainAll(Iterable<? extends T> elements) {
+      Set<T> keep = (elements instanceof Set) ? (Set<T>) elements
+            : (Set<T>) LinkedSet.of((Iterable) elements);
+      
+      List<T> drop = new ArrayList<T>();
+      for (T val : this) {
+         if (!keep.contains(val)) {
+            drop.add(val);
+         }
+      }
+      
+      boolean changed = false;
+      for (T val : drop) {
+         changed |= remove(val);
+      }
+      return changed;
+   }
+
+
    /**
     * Searches for specified element in this collection.
     *
@@ -100,4 +164,24 @@ public interface Set<T> extends Iterable<T> {
     */
    Iterator<T> iterator();
 
+
+   /**
+    * Returns a sequential stream over the elements in this collection.
+    *
+    * @return  a sequential stream over the elements in this collection
+    */
+   default Stream<T> stream() {
+      return StreamSupport.stream(spliterator(), false);
+   }
+
+
+   /**
+    * Returns a parallel stream over the elements in this collection.
+    *
+    * @return  a parallel stream over the elements in this collection
+    */
+   default Stream<T> parallelStream() {
+      return StreamSupport.stream(spliterator(), true);
+   }
+
 }
@@ -0,0 +1,112 @@
+/**
+ * Describes one element that must be added to or removed from a set to
+ * bring it up to date with another version of it. LinkedSet.diff
+ * produces changes in ascending order of their elements, and
+ * LinkedSet.applyDiff consumes them in that order.
+ *
+ * @author Brian Betz (betzbri@auburn.edu
+ * @version 2016-03-13
+ *
+ */
+public final class SetChange<T extends Comparable<? super T>> {
+
+   /** The kinds of change. */
+   public enum Kind { ADDED, REMOVED }
+
+   /** Whether the element is added or removed. */
+   private final Kind kind;
+
+   /** The element that is added or removed. */
+   private final T element;
+
+   /**
+    * Instantiates a change of the given kind to element.
+    *
+    * @param  kind     whether element is added or removed
+    * @param  element  the element that is added or removed
+    * @throws NullPointerException if kind or element is null
+    */
+   public SetChange(Kind kind, T element) {
+      if (kind == null || element == null) {
+         throw new NullPointerException();
+      }
+      this.kind = kind;
+      this.element = element;
+   }
+
+
+   /**
+    * Returns a change that adds element.
+    *
+    * @param  element  the element to add
+    * @return a change that adds element
+    */
+   public static <T extends Comparable<? super T>> SetChange<T> added(T element) {
+      return new SetChange<T>(Kind.ADDED, element);
+   }
+
+
+   /**
+    * Returns a change that removes element.
+    *
+    * @param  element  the element to remove
+    * @return a change that removes element
+    */
+   public static <T extends Comparable<? super T>> SetChange<T> removed(T element) {
+      return new SetChange<T>(Kind.REMOVED, element);
+   }
+
+
+   /**
+    * Returns whether the element is added or removed.
+    *
+    * @return the kind of this change
+    */
+   public Kind kind() {
+      return kind;
+   }
+
+
+   /**
+    * Returns the element that is added or removed.
+    *
+    * @return the element of this change
+    */
+   public T element() {
+      return element;
+   }
+
+
+   /**
+    * Return a string representation of this SetChange: the element
+    * preceded by + if it is added or - if it is removed.
+    *
+    * @return a string representation of this SetChange
+    */
+   @Override
+   public String toString() {
+      return (kind == Kind.ADDED ? "+" : "-") + element;
+   }
+
+
+   /**
+    * Tests whether o is a change of the same kind to an equal element.
+    *
+    * @return true if o is an equal change, false otherwise
+    */
+   @Override
+   public boolean equals(Object o) {
+      if (!(o instanceof SetChange)) {
+         return false;
+      }
+      SetChange<?> c = (SetChange<?>) o;
+      return kind == c.kind && element.equals(c.element);
+   }
+
+
+   @Override
+   public int hashCode() {
+      return 31 * kind.hashCode() + element.hashCode();
+   }
+
+}
@@ -0,0 +1,306 @@
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+/**
+ * Provides the binary stream format shared by the sorted set
+ * implementations. A stream holds a header (the magic number, the
+ * format version, a tag for the element type, and the element count)
+ * followed by the elements in ascending order:
+ * <ul>
+ * <li>Byte, Short, Integer and Long elements are delta encoded: the
+ *     first as a zigzag varint and each of the rest as an unsigned
+ *     varint of its difference from the one before it;</li>
+ * <li>String elements are front coded: each is stored as the length
+ *     of the prefix it shares with the one before it and the rest of
+ *     it in UTF-8.</li>
+ * </ul>
+ * Elements are encoded and decoded one at a time, so neither side
+ * holds more than one element beyond the set itself. No other element
+ * types are supported: streams may come from other hosts, and reading
+ * them must never run Java deserialization.
+ *
+ * @author Brian Betz (betzbri@auburn.edu
+ * @version 2016-03-13
+ *
+ */
+final class SetStreams {
+
+   /** Identifies a set stream: "LKST" in ASCII. */
+   static final int MAGIC = 0x4C4B5354;
+
+   /** The version of the format written by write. */
+   static final int VERSION = 1;
+
+   /** The element type tags. */
+   private static final int BYTE = 1;
+   private static final int SHORT = 2;
+   private static final int INT = 3;
+   private static final int LONG = 4;
+   private static final int STRING = 5;
+
+   /** The most bytes of a string element read at a time. */
+   private static final int CHUNK = 1 << 13;
+
+   private SetStreams() {
+   }
+
+   /**
+    * Writes count elements, taken in ascending order from ascending,
+    * to out. The output is buffered and flushed, but out is not closed.
+    *
+    * @param  ascending  the elements in ascending order
+    * @param  count      the number of elements
+    * @param  out        the stream to write to
+    * @throws IOException if out throws one
+    * @throws IllegalArgumentException if the elements are neither
+    *           Byte, Short, Integer, Long, nor String
+    */
+   static void write(Iterator<?> ascending, int count, OutputStream out) throws IOException {
+      DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+      Object first = ascending.hasNext() ? ascending.next() : null;
+      int tag = tagOf(first);
+      data.writeInt(MAGIC);
+      data.writeByte(VERSION);
+      data.writeByte(tag);
+      writeVarint(data, count);
+
+      if (first != null) {
+         if (tag == STRING) {
+            writeStrings((String) first, ascending, data);
+         }
+         else {
+            writeIntegers(((Number) first).longValue(), ascending, data);
+         }
+      }
+      data.flush();
+   }
+
+   /**
+    * Reads the header of a set stream and returns a reader for its
+    * elements. in should be buffered; the reader consumes only the
+    * bytes of the set.
+    *
+    * @param  in  the stream to read from
+    * @return a reader positioned at the first element
+    * @throws IOException if in throws one or does not hold a set stream
+    */
+   static Reader read(InputStream in) throws IOException {
+      DataInputStream data = new DataInputStream(in);
+      if (data.readInt() != MAGIC) {
+         throw new IOException("not a set stream");
+      }
+      int version = data.readUnsignedByte();
+      if (version != VERSION) {
+         throw new IOException("unsupported set stream version " + version);
+      }
+      int tag = data.readUnsignedByte();
+      if (tag < BYTE || tag > STRING) {
+         throw new IOException("unknown element type " + tag);
+      }
+      long count = readVarint(data);
+      if (count < 0 || count > Integer.MAX_VALUE) {
+         throw new IOException("corrupt element count " + count);
+      }
+      return new Reader(data, tag, (int) count);
+   }
+
+
+   //////////////////////////////
+   // Private utility methods. //
+   //////////////////////////////
+
+   /**
+    * Returns the type tag for elements of the same class as first.
+    */
+   private static int tagOf(Object first) {
+      if (first == null || first instanceof Integer) {
+         return INT;
+      }
+      if (first instanceof Long) {
+         return LONG;
+      }
+      if (first instanceof Short) {
+         return SHORT;
+      }
+      if (first instanceof Byte) {
+         return BYTE;
+      }
+      if (first instanceof String) {
+         return STRING;
+      }
+      throw new IllegalArgumentException("cannot write elements of " + first.getClass());
+   }
+
+   private static void writeIntegers(long first, Iterator<?> rest, DataOutputStream data)
+         throws IOException {
+      writeVarint(data, (first << 1) ^ (first >> 63));
+      long prev = first;
+      while (rest.hasNext()) {
+         long val = ((Number) rest.next()).longValue();
+         writeVarint(data, val - prev);
+         prev = val;
+      }
+   }
+
+   private static void writeStrings(String first, Iterator<?> rest, DataOutputStream data)
+         throws IOException {
+      String prev = "";
+      String val = first;
+      while (true) {
+         int shared = 0;
+         int limit = Math.min(prev.length(), val.length());
+         while (shared < limit && prev.charAt(shared) == val.charAt(shared)) {
+            shared++;
+         }
+         if (shared > 0 && Character.isHighSurrogate(val.charAt(shared - 1))) {
+            shared--;
+         }
+         byte[] suffix = val.substring(shared).getBytes(StandardCharsets.UTF_8);
+         writeVarint(data, shared);
+         writeVarint(data, suffix.length);
+         data.write(suffix);
+
+         if (!rest.hasNext()) {
+            return;
+         }
+         prev = val;
+         val = (String) rest.next();
+      }
+   }
+
+   /**
+    * Writes v as an unsigned varint: seven bits per byte, low bits
+    * first, with the high bit set on every byte but the last.
+    */
+   private static void writeVarint(DataOutputStream data, long v) throws IOException {
+      while ((v & ~0x7FL) != 0) {
+         data.writeByte((int) ((v & 0x7F) | 0x80));
+         v >>>= 7;
+      }
+      data.writeByte((int) v);
+   }
+
+   private static long readVarint(DataInputStream data) throws IOException {
+      long v = 0;
+      for (int shift = 0; shift < 64; shift += 7) {
+         int b = data.readUnsignedByte();
+         v |= (long) (b & 0x7F) << shift;
+         if (b < 0x80) {
+            return v;
+         }
+      }
+      throw new IOException("malformed varint");
+   }
+
+
+   ////////////////////
+   // Nested classes //
+   ////////////////////
+
+   /**
+    * Decodes the elements of a set stream one at a time.
+    */
+   static final class Reader {
+      private final DataInputStream data;
+      private final int tag;
+      private final int count;
+      private int read;
+      private long prevLong;
+      private String prevString;
+
+      private Reader(DataInputStream data, int tag, int count) {
+         this.data = data;
+         this.tag = tag;
+         this.count = count;
+         prevString = "";
+      }
+
+      /**
+       * Returns the number of elements in the stream.
+       */
+      int count() {
+         return count;
+      }
+
+      /**
+       * Returns the next element.
+       *
+       * @throws IOException if the stream ends early or is corrupt
+       */
+      Object next() throws IOException {
+         if (read == count) {
+            throw new IOException("no more elements");
+         }
+         read++;
+         switch (tag) {
+            case STRING:
+               return nextString();
+            default:
+               return box(nextLong());
+         }
+      }
+
+      private long nextLong() throws IOException {
+         long v = readVarint(data);
+         if (read == 1) {
+            prevLong = (v >>> 1) ^ -(v & 1);
+         }
+         else {
+            prevLong += v;
+         }
+         return prevLong;
+      }
+
+      private Object box(long v) {
+         switch (tag) {
+            case BYTE:
+               return (byte) v;
+            case SHORT:
+               return (short) v;
+            case INT:
+               return (int) v;
+            default:
+               return v;
+         }
+      }
+
+      private String nextString() throws IOException {
+         long shared = readVarint(data);
+         long length = readVarint(data);
+         if (shared > prevString.length() || length > Integer.MAX_VALUE) {
+            throw new IOException("corrupt string element");
+         }
+         prevString = prevString.substring(0, (int) shared)
+               + new String(readBytes((int) length), StandardCharsets.UTF_8);
+         return prevString;
+      }
+
+      /**
+       * Reads length bytes in chunks of at most CHUNK, so that a corrupt
+       * length cannot allocate more than the stream actually holds.
+       */
+      private byte[] readBytes(int length) throws IOException {
+         if (length <= CHUNK) {
+            byte[] bytes = new byte[length];
+            data.readFully(bytes);
+            return bytes;
+         }
+         ByteArrayOutputStream bytes = new ByteArrayOutputStream(CHUNK);
+         byte[] chunk = new byte[CHUNK];
+         for (int left = length; left > 0; left -= CHUNK) {
+            int n = Math.min(left, CHUNK);
+            data.readFully(chunk, 0, n);
+            bytes.write(chunk, 0, n);
+         }
+         return bytes.toByteArray();
+      }
+   }
+
+}
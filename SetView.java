@@ -0,0 +1,358 @@
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * Provides a read-only, lazily evaluated union, intersection, or
+ * complement of two sets. contains asks the operands, and iteration
+ * merges the operands' sorted iterators as it goes. A view is itself
+ * an ordered set, so a chain of views such as
+ * a.unionView(b).intersectionView(c) is evaluated in a single pass in
+ * which each element of each operand is visited once. A view reflects
+ * later changes to its operands, with one exception: the right operand
+ * of a union that is not an OrderedSet is copied into a LinkedSet when
+ * the view is made, so later changes to it are not seen. Otherwise no
+ * elements are copied; materialize() copies the current elements of
+ * the view into a LinkedSet.
+ *
+ * @author Brian Betz (betzbri@auburn.edu
+ * @version 2016-03-13
+ *
+ */
+public class SetView<T extends Comparable<? super T>> implements OrderedSet<T> {
+
+   /** The set operations a view can apply. */
+   enum Operation { UNION, INTERSECTION, COMPLEMENT }
+
+   /** The left operand. */
+   private final OrderedSet<T> left;
+
+   /** The right operand. */
+   private final Set<T> right;
+
+   /** The right operand if it is ordered, or null if only contains may be used. */
+   private final OrderedSet<T> orderedRight;
+
+   /** The operation applied to the operands. */
+   private final Operation operation;
+
+   /**
+    * Instantiates a view of the given operation applied to left and
+    * right. An unordered right operand of a union is copied once into
+    * a LinkedSet so that it can be merged; an unordered right operand
+    * of an intersection or complement is only probed with contains.
+    */
+   SetView(OrderedSet<T> left, Set<T> right, Operation operation) {
+      this.left = left;
+      this.operation = operation;
+      if (right instanceof OrderedSet) {
+         this.right = right;
+         orderedRight = (OrderedSet<T>) right;
+      }
+      else if (operation == Operation.UNION) {
+         orderedRight = LinkedSet.of(right);
+         this.right = orderedRight;
+      }
+      else {
+         this.right = right;
+         orderedRight = null;
+      }
+   }
+
+
+   /**
+    * Returns a LinkedSet holding the current elements of this view,
+    * linked in a single merge pass.
+    *
+    * @return  a LinkedSet containing the elements of this view
+    */
+   public LinkedSet<T> materialize() {
+      return LinkedSet.of(this);
+   }
+
+
+   /**
+    * Return a string representation of this SetView.
+    *
+    * @return a string representation of this SetView
+    */
+   @Override
+   public String toString() {
+      StringBuilder result = new StringBuilder();
+      result.append("[");
+      for (T element : this) {
+         result.append(element);
+         result.append(", ");
+      }
+      if (result.length() > 1) {
+         result.delete(result.length() - 2, result.length());
+      }
+      result.append("]");
+      return result.toString();
+   }
+
+
+   /**
+    * Returns the current size of this view. The elements are counted
+    * by a merge pass, so this runs in linear time.
+    *
+    * @return  the number of elements in this collection.
+    */
+   public int size() {
+      int count = 0;
+      for (Iterator<T> itr = iterator(); itr.hasNext(); itr.next()) {
+         count++;
+      }
+      return count;
+   }
+
+
+   /**
+    * Tests to see if this view is empty. The merge stops at the first
+    * element found.
+    *
+    * @return  true if this collection contains no elements, false otherwise.
+    */
+   public boolean isEmpty() {
+      return !iterator().hasNext();
+   }
+
+
+   /**
+    * Views are read-only.
+    *
+    * @throws UnsupportedOperationException always
+    */
+   public boolean add(T element) {
+      throw new UnsupportedOperationException("set views are read-only");
+   }
+
+
+   /**
+    * Views are read-only.
+    *
+    * @throws UnsupportedOperationException always
+    */
+   public boolean remove(T element) {
+      throw new UnsupportedOperationException("set views are read-only");
+   }
+
+
+   /**
+    * Searches for specified element in this view by asking the operands.
+    *
+    * @param   element  The element whose presence in this collection is to be tested.
+    * @return  true if this collection contains the specified element, false otherwise.
+    */
+   public boolean contains(T element) {
+      switch (operation) {
+         case UNION:
+            return left.contains(element) || right.contains(element);
+         case INTERSECTION:
+            return left.contains(element) && right.contains(element);
+         default:
+            return left.contains(element) && !right.contains(element);
+      }
+   }
+
+
+   /**
+    * Tests for equality between this view and the parameter set.
+    * Returns true if this view contains exactly the same elements
+    * as the parameter set, regardless of order.
+    *
+    * @return  true if this set contains exactly the same elements as
+    *               the parameter set, false otherwise
+    */
+   public boolean equals(Set<T> s) {
+      if (s == null || s.size() != size()) {
+         return false;
+      }
+
+      for (T val : s) {
+         if (!contains(val)) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+
+   /**
+    * Returns a lazy view of the union of this view and the parameter set.
+    *
+    * @return  a set that contains all the elements of this set and the parameter set
+    */
+   public Set<T> union(Set<T> s) {
+      return unionView(s);
+   }
+
+
+   /**
+    * Returns a lazy view of the intersection of this view and the parameter set.
+    *
+    * @return  a set that contains elements that are in both this set and the parameter set
+    */
+   public Set<T> intersection(Set<T> s) {
+      return intersectionView(s);
+   }
+
+
+   /**
+    * Returns a lazy view of the complement of this view and the parameter set.
+    *
+    * @return  a set that contains elements that are in this set but not the parameter set
+    */
+   public Set<T> complement(Set<T> s) {
+      return complementView(s);
+   }
+
+
+   /**
+    * Returns an iterator that merges the operands in ascending natural order.
+    *
+    * @return  an iterator over the elements in this set
+    */
+   public Iterator<T> iterator() {
+      return new MergeIterator(true);
+   }
+
+
+   /**
+    * Returns an iterator that merges the operands in descending natural order.
+    *
+    * @return  an iterator over the elements in this set
+    */
+   public Iterator<T> descendingIterator() {
+      return new MergeIterator(false);
+   }
+
+
+   /**
+    * Returns a spliterator over the elements of this view. Its size is
+    * not reported, since counting would take a merge pass of its own.
+    *
+    * @return  a spliterator over the elements in this set
+    */
+   public Spliterator<T> spliterator() {
+      return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.SORTED
+            | Spliterator.DISTINCT | Spliterator.ORDERED | Spliterator.NONNULL);
+   }
+
+
+   //////////////////////////////
+   // Private utility methods. //
+   //////////////////////////////
+
+   private static <T> T nextOrNull(Iterator<T> itr) {
+      return (itr != null && itr.hasNext()) ? itr.next() : null;
+   }
+
+
+   ////////////////////
+   // Nested classes //
+   ////////////////////
+
+   /**
+    * Merges the operands one element at a time. a and b are the next
+    * unconsumed elements of the left and right operands.
+    */
+   private class MergeIterator implements Iterator<T> {
+      private Iterator<T> leftItr;
+      private Iterator<T> rightItr;
+      private int sign;
+      private T a;
+      private T b;
+      private T next;
+
+      public MergeIterator(boolean ascending) {
+         sign = ascending ? 1 : -1;
+         leftItr = ascending ? left.iterator() : left.descendingIterator();
+         if (orderedRight != null) {
+            rightItr = ascending ? orderedRight.iterator() : orderedRight.descendingIterator();
+         }
+         a = nextOrNull(leftItr);
+         b = nextOrNull(rightItr);
+         advance();
+      }
+
+      private void advance() {
+         if (rightItr == null) {
+            boolean keep = operation == Operation.INTERSECTION;
+            while (a != null && right.contains(a) != keep) {
+               a = nextOrNull(leftItr);
+            }
+            next = a;
+            a = nextOrNull(leftItr);
+            return;
+         }
+
+         next = null;
+         while (a != null || b != null) {
+            if (b == null) {
+               if (operation == Operation.INTERSECTION) {
+                  return;
+               }
+               next = a;
+               a = nextOrNull(leftItr);
+               return;
+            }
+            if (a == null) {
+               if (operation == Operation.UNION) {
+                  next = b;
+                  b = nextOrNull(rightItr);
+               }
+               return;
+            }
+
+            int c = sign * a.compareTo(b);
+            if (c < 0) {
+               T item = a;
+               a = nextOrNull(leftItr);
+               if (operation != Operation.INTERSECTION) {
+                  next = item;
+                  return;
+               }
+            }
+            else if (c > 0) {
+               T item = b;
+               b = nextOrNull(rightItr);
+               if (operation == Operation.UNION) {
+                  next = item;
+                  return;
+               }
+            }
+            else {
+               T item = a;
+               a = nextOrNull(leftItr);
+               b = nextOrNull(rightItr);
+               if (operation != Operation.COMPLEMENT) {
+                  next = item;
+                  return;
+               }
+            }
+         }
+      }
+
+      @Override
+      public boolean hasNext() {
+         return next != null;
+      }
+
+      @Override
+      public T next() {
+         if (!hasNext()) {
+            throw new NoSuchElementException();
+         }
+         T item = next;
+         advance();
+         return item;
+      }
+
+      public void remove() {
+         throw new UnsupportedOperationException();
+      }
+   }
+
+}
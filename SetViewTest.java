@@ -0,0 +1,77 @@
+//@author Brian Betz
+
+import org.junit.Assert;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.Iterator;
+
+
+public class SetViewTest {
+
+   private LinkedSet<Integer> a;
+   private LinkedSet<Integer> b;
+   private LinkedSet<Integer> c;
+
+   /** Fixture initialization (common initialization
+    *  for all tests). **/
+   @Before public void setUp() {
+      a = LinkedSet.of(new Integer[] {1, 3, 5, 7, 9});
+      b = LinkedSet.of(new Integer[] {2, 3, 4, 9, 10});
+      c = LinkedSet.of(new Integer[] {1, 2, 3, 4, 5});
+   }
+   
+   
+   @Test public void unionViewTest() {
+      SetView<Integer> view = a.unionView(b);
+      Assert.assertEquals("[1, 2, 3, 4, 5, 7, 9, 10]", view.toString());
+      Assert.assertEquals(8, view.size());
+      Assert.assertTrue(view.contains(10));
+      Assert.assertFalse(view.contains(6));
+   }
+   
+   @Test public void intersectionAndComplementViewTest() {
+      Assert.assertEquals("[3, 9]", a.intersectionView(b).toString());
+      Assert.assertEquals("[1, 5, 7]", a.complementView(b).toString());
+      Assert.assertTrue(a.intersectionView(new LinkedSet<Integer>()).isEmpty());
+   }
+   
+   @Test public void chainedViewTest() {
+      SetView<Integer> view = a.unionView(b).intersectionView(c).complementView(b);
+      Assert.assertEquals("[1, 5]", view.toString());
+      Assert.assertEquals("[1, 5]", view.materialize().toString());
+      
+      Iterator<Integer> itr = view.descendingIterator();
+      Assert.assertEquals(5, (int) itr.next());
+      Assert.assertEquals(1, (int) itr.next());
+      Assert.assertFalse(itr.hasNext());
+   }
+   
+   @Test public void liveViewTest() {
+      SetView<Integer> view = a.intersectionView(b);
+      b.add(7);
+      a.remove(9);
+      Assert.assertEquals("[3, 7]", view.toString());
+   }
+   
+   @Test public void unorderedOperandTest() {
+      Set<Integer> unordered = new Set<Integer>() {
+         private java.util.TreeSet<Integer> items =
+            new java.util.TreeSet<Integer>(java.util.Arrays.asList(9, 2, 7));
+         public boolean add(Integer e) { return items.add(e); }
+         public boolean remove(Integer e) { return items.remove(e); }
+         public boolean contains(Integer e) { return items.contains(e); }
+         public int size() { return items.size(); }
+         public boolean isEmpty() { return items.isEmpty(); }
+         public boolean equals(Set<Integer> s) { return false; }
+         public Set<Integer> union(Set<Integer> s) { return null; }
+         public Set<Integer> intersection(Set<Integer> s) { return null; }
+         public Set<Integer> complement(Set<Integer> s) { return null; }
+         public Iterator<Integer> iterator() { return items.descendingIterator(); }
+      };
+      Assert.assertEquals("[1, 2, 3, 5, 7, 9]", a.unionView(unordered).toString());
+      Assert.assertEquals("[7, 9]", a.intersectionView(unordered).toString());
+      Assert.assertEquals("[1, 3, 5]", a.complementView(unordered).toString());
+   }
+   
+}
@@ -0,0 +1,121 @@
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Provides the array preparation shared by the bulk operations of
+ * the sorted set implementations.
+ *
+ * @author Brian Betz (betzbri@auburn.edu
+ * @version 2016-03-13
+ *
+ */
+final class SortedArrays {
+
+   /**
+    * The size ratio above which intersecting by seeking each element of
+    * the smaller set in the larger one beats a linear merge.
+    */
+   static final int SKEW = 16;
+
+   private SortedArrays() {
+   }
+
+   /**
+    * Returns the elements of an Iterable in a new array.
+    *
+    * @param  elements  the elements to copy
+    * @return an array holding the elements
+    */
+   static Object[] toArray(Iterable<?> elements) {
+      if (elements instanceof Collection) {
+         return ((Collection<?>) elements).toArray();
+      }
+
+      // A Set's size only presizes the array: a concurrent set may
+      // change between size() and the end of the iteration.
+      int capacity = (elements instanceof Set) ? ((Set<?>) elements).size() : 16;
+      Object[] items = new Object[Math.max(capacity, 16)];
+      int n = 0;
+      for (Object val : elements) {
+         if (n == items.length) {
+            items = Arrays.copyOf(items, n * 2);
+         }
+         items[n++] = val;
+      }
+      return Arrays.copyOf(items, n);
+   }
+
+   /**
+    * Moves the distinct non-null elements of items to its front in
+    * ascending natural order. The items are sorted only if they are
+    * not already in ascending order.
+    *
+    * @param  items  an array of mutually comparable elements
+    * @return the number of distinct elements now at the front of items
+    */
+   @SuppressWarnings({"unchecked", "rawtypes"})
+   static int sortDistinct(Object[] items) {
+      int n = 0;
+      boolean sorted = true;
+      for (Object item : items) {
+         if (item != null) {
+            if (sorted && n > 0 && ((Comparable) items[n - 1]).compareTo(item) > 0) {
+               sorted = false;
+            }
+            items[n++] = item;
+         }
+      }
+
+      if (!sorted) {
+         Arrays.sort(items, 0, n);
+      }
+
+      int distinct = 0;
+      for (int i = 0; i < n; i++) {
+         if (distinct == 0 || ((Comparable) items[distinct - 1]).compareTo(items[i]) != 0) {
+            items[distinct++] = items[i];
+         }
+      }
+      Arrays.fill(items, distinct, items.length, null);
+      return distinct;
+   }
+
+   /**
+    * Returns the index of the first of the sorted items[from, to) that
+    * is not less than key, or to if there is none. The search gallops
+    * forward from from, doubling its step until it passes key, and then
+    * searches the last step in binary, so it costs O(log d) where d is
+    * the distance from from to the result. Seeking through an array
+    * with successively larger keys therefore costs O(m log(n / m)) in
+    * total for m seeks.
+    *
+    * @param  items  an array sorted in ascending natural order
+    * @param  from   the first index searched
+    * @param  to     the index after the last index searched
+    * @param  key    the element sought
+    * @return the index of the first element not less than key
+    */
+   @SuppressWarnings({"unchecked", "rawtypes"})
+   static int gallop(Object[] items, int from, int to, Object key) {
+      int lo = from;
+      int hi = from;
+      long step = 1;
+      while (hi < to && ((Comparable) items[hi]).compareTo(key) < 0) {
+         lo = hi + 1;
+         hi = (int) Math.min(lo + step, to);
+         step <<= 1;
+      }
+
+      while (lo < hi) {
+         int mid = (lo + hi) >>> 1;
+         if (((Comparable) items[mid]).compareTo(key) < 0) {
+            lo = mid + 1;
+         }
+         else {
+            hi = mid;
+         }
+      }
+      return lo;
+   }
+
+}
@@ -0,0 +1,251 @@
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmarks for the LinkedSet operations. Each benchmark runs
+ * against a set of size even numbers, so every odd number is a miss.
+ * Run main to include the GC profiler, which reports the bytes
+ * allocated per operation.
+ *
+ * <p>The insertion benchmarks on an unindexed set are quadratic, so the
+ * largest sizes take a long time; narrow them with -p size=... when
+ * running from the command line.
+ *
+ * @author Brian Betz (betzbri@auburn.edu
+ * @version 2016-03-13
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinkedSetBenchmark {
+
+   /** The number of elements in each set. */
+   @Param({"10", "100", "1000", "10000", "100000", "1000000"})
+   int size;
+
+   /** Whether the sets keep a skip-list index. */
+   @Param({"false", "true"})
+   boolean indexed;
+
+   /** The elements of set in ascending, descending and random order. */
+   Integer[] ascending;
+   Integer[] descending;
+   Integer[] shuffled;
+
+   /** Values to probe that are in set, and values that are not. */
+   Integer[] hits;
+   Integer[] misses;
+
+   /** The next probe to use. */
+   int probe;
+
+   /** A set of the first size even numbers. */
+   LinkedSet<Integer> set;
+
+   /** A set equal to set but built separately. */
+   LinkedSet<Integer> same;
+
+   /** A set of size multiples of three, half overlapping set. */
+   LinkedSet<Integer> other;
+
+   /** A set of size / 100 random elements of set and misses. */
+   LinkedSet<Integer> sparse;
+
+   /**
+    * Builds the input arrays and the sets.
+    */
+   @Setup(Level.Trial)
+   public void setUp() {
+      Random random = new Random(42);
+      ascending = new Integer[size];
+      descending = new Integer[size];
+      hits = new Integer[size];
+      misses = new Integer[size];
+      for (int i = 0; i < size; i++) {
+         ascending[i] = 2 * i;
+         descending[size - 1 - i] = 2 * i;
+         misses[i] = 2 * i + 1;
+      }
+
+      shuffled = ascending.clone();
+      for (int i = size - 1; i > 0; i--) {
+         int j = random.nextInt(i + 1);
+         Integer t = shuffled[i];
+         shuffled[i] = shuffled[j];
+         shuffled[j] = t;
+      }
+      System.arraycopy(shuffled, 0, hits, 0, size);
+      for (int i = size - 1; i > 0; i--) {
+         int j = random.nextInt(i + 1);
+         Integer t = misses[i];
+         misses[i] = misses[j];
+         misses[j] = t;
+      }
+
+      set = new LinkedSet<Integer>(indexed);
+      same = new LinkedSet<Integer>(indexed);
+      other = new LinkedSet<Integer>(indexed);
+      for (int i = 0; i < size; i++) {
+         set.add(descending[i]);
+         same.add(descending[i]);
+         other.add(3 * (size - 1 - i));
+      }
+
+      Integer[] sample = new Integer[Math.max(1, size / 100)];
+      for (int i = 0; i < sample.length; i++) {
+         sample[i] = (i % 2 == 0) ? hits[i] : misses[i];
+      }
+      sparse = LinkedSet.of(sample);
+   }
+
+   /**
+    * Returns the next probe index.
+    */
+   private int nextProbe() {
+      int i = probe;
+      probe = (i + 1 == size) ? 0 : i + 1;
+      return i;
+   }
+
+   @Benchmark
+   public LinkedSet<Integer> addInOrder() {
+      LinkedSet<Integer> s = new LinkedSet<Integer>(indexed);
+      for (Integer val : ascending) {
+         s.add(val);
+      }
+      return s;
+   }
+
+   @Benchmark
+   public LinkedSet<Integer> addReverseOrder() {
+      LinkedSet<Integer> s = new LinkedSet<Integer>(indexed);
+      for (Integer val : descending) {
+         s.add(val);
+      }
+      return s;
+   }
+
+   @Benchmark
+   public LinkedSet<Integer> addRandomOrder() {
+      LinkedSet<Integer> s = new LinkedSet<Integer>(indexed);
+      for (Integer val : shuffled) {
+         s.add(val);
+      }
+      return s;
+   }
+
+   @Benchmark
+   public LinkedSet<Integer> bulkLoadInOrder() {
+      return LinkedSet.of(ascending);
+   }
+
+   @Benchmark
+   public LinkedSet<Integer> bulkLoadRandomOrder() {
+      return LinkedSet.of(shuffled);
+   }
+
+   @Benchmark
+   public boolean containsHit() {
+      return set.contains(hits[nextProbe()]);
+   }
+
+   @Benchmark
+   public boolean containsMiss() {
+      return set.contains(misses[nextProbe()]);
+   }
+
+   /**
+    * Probes present elements in ascending order, the access pattern
+    * the finger search is meant for.
+    */
+   @Benchmark
+   public boolean containsSequential() {
+      return set.contains(ascending[nextProbe()]);
+   }
+
+   /**
+    * Removes a present element and adds it back so that the set
+    * keeps its size across invocations.
+    */
+   @Benchmark
+   public boolean removeAndReAdd() {
+      Integer val = hits[nextProbe()];
+      return set.remove(val) & set.add(val);
+   }
+
+   @Benchmark
+   public Set<Integer> union() {
+      return set.union(other);
+   }
+
+   @Benchmark
+   public Set<Integer> intersection() {
+      return set.intersection(other);
+   }
+
+   @Benchmark
+   public Set<Integer> skewedIntersection() {
+      return sparse.intersection(set);
+   }
+
+   @Benchmark
+   public Set<Integer> complement() {
+      return set.complement(other);
+   }
+
+   @Benchmark
+   public boolean equalsSame() {
+      return set.equals(same);
+   }
+
+   @Benchmark
+   public void iterate(Blackhole bh) {
+      for (Integer val : set) {
+         bh.consume(val);
+      }
+   }
+
+   @Benchmark
+   public void descendingIterate(Blackhole bh) {
+      Iterator<Integer> itr = set.descendingIterator();
+      while (itr.hasNext()) {
+         bh.consume(itr.next());
+      }
+   }
+
+   /**
+    * Runs every benchmark in this class with the GC profiler.
+    */
+   public static void main(String[] args) throws RunnerException {
+      Options opt = new OptionsBuilder()
+            .include(LinkedSetBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+      new Runner(opt).run();
+   }
+
+}
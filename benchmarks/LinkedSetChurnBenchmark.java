@@ -0,0 +1,103 @@
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark of LinkedSet under churn: each operation removes a
+ * random element, adds it back, and looks it up. The elements are boxed
+ * once in setUp, so the gc.alloc.rate.norm column reported by the GC
+ * profiler counts only what the set itself allocates. With a pool it
+ * should be zero, or close to it for an indexed set.
+ *
+ * @author Brian Betz (betzbri@auburn.edu
+ * @version 2016-03-13
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinkedSetChurnBenchmark {
+
+   /** The number of elements in the set. */
+   @Param({"1000", "100000"})
+   int size;
+
+   /** Whether the set keeps a skip-list index. */
+   @Param({"false", "true"})
+   boolean indexed;
+
+   /** The most removed nodes the set keeps for reuse. */
+   @Param({"0", "1024"})
+   int poolCapacity;
+
+   /** The elements of set in random order. */
+   Integer[] shuffled;
+
+   /** The next element to churn. */
+   int next;
+
+   /** The set under test. */
+   LinkedSet<Integer> set;
+
+   /**
+    * Builds the set and the churn order.
+    */
+   @Setup(Level.Trial)
+   public void setUp() {
+      Random random = new Random(42);
+      shuffled = new Integer[size];
+      for (int i = 0; i < size; i++) {
+         shuffled[i] = 2 * i;
+      }
+      for (int i = size - 1; i > 0; i--) {
+         int j = random.nextInt(i + 1);
+         Integer t = shuffled[i];
+         shuffled[i] = shuffled[j];
+         shuffled[j] = t;
+      }
+
+      set = new LinkedSet<Integer>(indexed, poolCapacity);
+      set.addAll(java.util.Arrays.asList(shuffled));
+   }
+
+   @Benchmark
+   public boolean churn() {
+      Integer element = shuffled[next];
+      next = (next + 1 == size) ? 0 : next + 1;
+      set.remove(element);
+      set.add(element);
+      return set.contains(element);
+   }
+
+   /**
+    * Runs this benchmark with the GC profiler.
+    */
+   public static void main(String[] args) throws RunnerException {
+      Options opt = new OptionsBuilder()
+            .include(LinkedSetChurnBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+      new Runner(opt).run();
+   }
+
+}